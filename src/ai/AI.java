@@ -26,6 +26,15 @@ public class AI {
         this.name = name;
     }
 
+    /**
+     * Creates an independent copy of an AI with a copy of its fleet.
+     * 
+     * @return copy
+     */
+    public AI copy() {
+        return new AI(this.name, this.fleet.copy());
+    }
+
     /**
      * Gets the fleet of an AI.
      * 
@@ -38,12 +47,11 @@ public class AI {
     /**
      * Runs move() method from Fleet.
      * 
-     * @param ship Spaceship to move.
-     * @param y    Coordinate of y-axis
-     * @param x    Coordinate of x-axis
+     * @param ship     Spaceship to move.
+     * @param position Target position
      */
-    public void move(Spaceship ship, int y, int x) {
-        this.fleet.move(ship, y, x);
+    public void move(Spaceship ship, Position position) {
+        this.fleet.move(ship, position);
     }
 
     /**
@@ -88,10 +96,8 @@ public class AI {
      * @param toDestroy Ship to destroy.
      */
     public void destroyShip(Spaceship toDestroy) {
-        for (Spaceship ship : this.fleet.getShips()) {
-            if (ship.getName().equals(toDestroy.getName())) {
-                ship.destroy();
-            }
+        if (this.fleet.contains(toDestroy)) {
+            toDestroy.destroy();
         }
     }
 
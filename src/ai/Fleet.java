@@ -3,12 +3,14 @@ package ai;
 import java.util.ArrayList;
 import java.util.List;
 
+import ai.occupier.spaceship.Attackership;
 import ai.occupier.spaceship.Collector;
 import ai.occupier.spaceship.Spaceship;
 import module.Modulus;
 
 /**
- * Represents a fleet.
+ * Represents a fleet. The state of all ships of the fleet is kept in a single
+ * compact store.
  * 
  * @author Emir Yuksel
  * @version 1.0
@@ -17,6 +19,8 @@ import module.Modulus;
 public class Fleet {
     private Collector collector;
     private List<Spaceship> attackers;
+    private final FleetState state = new FleetState();
+    private final Spaceship[] ships = new Spaceship[FleetState.SHIPS];
 
     /**
      * Creates a fleet.
@@ -27,34 +31,78 @@ public class Fleet {
     public Fleet(List<Spaceship> attackers, Collector collector) {
         this.attackers = attackers;
         this.collector = collector;
+        collector.attach(this.state, FleetState.COLLECTOR);
+        this.ships[FleetState.COLLECTOR] = collector;
+        for (int i = 0; i < attackers.size(); i++) {
+            attackers.get(i).attach(this.state, i + 1);
+            this.ships[i + 1] = attackers.get(i);
+        }
+    }
+
+    /**
+     * Creates an independent copy of the fleet. The ships of the copy are new
+     * instances with the same names, state and positions.
+     * 
+     * @return copy
+     */
+    public Fleet copy() {
+        List<Spaceship> copiedAttackers = new ArrayList<Spaceship>();
+        for (Spaceship attacker : this.attackers) {
+            copiedAttackers.add(new Attackership(attacker.getName(), new ArrayList<Modulus>()));
+        }
+        Fleet copy = new Fleet(copiedAttackers, new Collector(0, this.collector.getName()));
+        for (int index = 0; index < FleetState.SHIPS; index++) {
+            copy.state.copyShip(index, this.state, index);
+            copy.ships[index].setPosition(this.ships[index].getPosition());
+        }
+        return copy;
+    }
+
+    /**
+     * Gets a ship by its index in the fleet store.
+     * 
+     * @param index Index of the ship, 0 is the collector.
+     * @return Spaceship
+     */
+    public Spaceship getShip(int index) {
+        return this.ships[index];
+    }
+
+    /**
+     * Checks if a ship belongs to this fleet.
+     * 
+     * @param ship Spaceship to check
+     * @return true if the ship is part of the fleet, false otherwise.
+     */
+    public boolean contains(Spaceship ship) {
+        return this.ships[ship.getIndex()] == ship;
+    }
+
+    /**
+     * Gets the state store of the fleet.
+     * 
+     * @return state
+     */
+    public FleetState getState() {
+        return state;
     }
 
     /**
      * Removes all markings from the fleet.
      */
     public void clearMark() {
-        for (Spaceship toClear : attackers) {
-            toClear.clearMark();
-        }
+        this.state.clearMarks();
     }
 
     /**
      * Changes the position of a spaceship.
      * 
      * @param spaceship Spaceship to move.
-     * @param y         Coordinate on y-axis.
-     * @param x         Coordinate on x-axis.
+     * @param position  Target position.
      */
-    public void move(Spaceship spaceship, int y, int x) {
-        String nameToMove = spaceship.getName();
-        if (nameToMove.equals(collector.getName())) {
-            collector.setPosition(y, x);
-            return;
-        }
-        for (Spaceship ship : this.attackers) {
-            if (nameToMove.equals(ship.getName())) {
-                ship.setPosition(y, x);
-            }
+    public void move(Spaceship spaceship, Position position) {
+        if (contains(spaceship)) {
+            spaceship.setPosition(position);
         }
     }
 
@@ -78,16 +126,8 @@ public class Fleet {
      * @param module    Module to remove.
      */
     public void removeModule(Spaceship spaceship, Modulus module) {
-        if (spaceship.getName().equals(this.collector.getName())) {
-            this.collector.removeModule(module);
-            return;
-        }
-
-        for (Spaceship shipToRemove : this.attackers) {
-            if (spaceship.getName().equals(shipToRemove.getName())) {
-                shipToRemove.removeModule(module);
-                return;
-            }
+        if (contains(spaceship)) {
+            spaceship.removeModule(module);
         }
 
     }
@@ -98,10 +138,8 @@ public class Fleet {
      * @param ship Spaceship to mark.
      */
     public void mark(Spaceship ship) {
-        for (Spaceship markedShip : this.attackers) {
-            if (markedShip.getName().equals(ship.getName())) {
-                markedShip.mark();
-            }
+        if (ship.getIndex() != FleetState.COLLECTOR && contains(ship)) {
+            this.state.mark(ship.getIndex());
         }
     }
 
@@ -111,7 +149,8 @@ public class Fleet {
      * @return true if the collector is destroyed, false otherwise.
      */
     public boolean isDestroyed() {
-        if (this.collector.isDestroyed()) {
+        if ((this.state.getModules(FleetState.COLLECTOR) & FleetState.ENGINE_BIT) == 0
+                && this.state.getContainers() == 0) {
             return true;
         }
         return false;
@@ -127,10 +166,8 @@ public class Fleet {
             this.collector.destroy();
             return;
         }
-        for (Spaceship ship : this.attackers) {
-            if (ship.getName().equals(toDestroy.getName())) {
-                ship.destroy();
-            }
+        if (contains(toDestroy)) {
+            toDestroy.destroy();
         }
     }
 
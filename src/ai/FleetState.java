@@ -0,0 +1,372 @@
+package ai;
+
+import module.ModuleType;
+
+/**
+ * Compact state store of a fleet. The state of all ships is kept in primitive
+ * arrays, index 0 is the collector and the indices 1 to 3 are the
+ * attackerships. A module is intact as long as its bit in the module mask is
+ * set, bit 0 stands for the engine and bit (slot + 1) for the module in the
+ * given loadout slot.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class FleetState {
+    /**
+     * Number of ships of a fleet.
+     */
+    public static final int SHIPS = 4;
+    /**
+     * Index of the collector.
+     */
+    public static final int COLLECTOR = 0;
+    /**
+     * Maximum number of modules of an attackership except engine.
+     */
+    public static final int SLOTS = 3;
+    /**
+     * Bit of the engine in the module mask.
+     */
+    public static final int ENGINE_BIT = 1;
+
+    private static final int SHIP_ACTIONS = 0xFF;
+    private static final int SAVED_MODULES = 0xFF;
+    private static final int SAVED_DESTROYED = 1 << 8;
+    private static final int SAVED_CONTAINERS_SHIFT = 9;
+
+    private final byte[] loadout = new byte[SHIPS * SLOTS];
+    private final byte[] modules = new byte[SHIPS];
+    private final int[] positions = new int[SHIPS];
+    private int containers;
+    private byte marks;
+    private byte destroyed;
+    private int actions;
+
+    /**
+     * Creates a store with empty loadouts and intact engines.
+     */
+    public FleetState() {
+        for (int i = 0; i < this.loadout.length; i++) {
+            this.loadout[i] = ModuleType.NONE;
+        }
+        for (int ship = 0; ship < SHIPS; ship++) {
+            this.modules[ship] = ENGINE_BIT;
+            refreshActions(ship);
+        }
+    }
+
+    /**
+     * Sets the module of a loadout slot and marks it as intact.
+     *
+     * @param ship Index of the ship
+     * @param slot Loadout slot
+     * @param type Module code
+     */
+    public void setLoadout(int ship, int slot, int type) {
+        this.loadout[ship * SLOTS + slot] = (byte) type;
+        this.modules[ship] = (byte) (this.modules[ship] | (1 << (slot + 1)));
+        refreshActions(ship);
+    }
+
+    /**
+     * Gets the module of a loadout slot.
+     *
+     * @param ship Index of the ship
+     * @param slot Loadout slot
+     * @return module code, ModuleType.NONE if the slot is empty.
+     */
+    public int getLoadout(int ship, int slot) {
+        return this.loadout[ship * SLOTS + slot];
+    }
+
+    /**
+     * Gets the module mask of a ship.
+     *
+     * @param ship Index of the ship
+     * @return module mask
+     */
+    public int getModules(int ship) {
+        return this.modules[ship];
+    }
+
+    /**
+     * Gets the codes of all intact modules of a ship as a mask, the bit of a code
+     * is ModuleType.bit(code).
+     *
+     * @param ship Index of the ship
+     * @return module type mask
+     */
+    public int getModuleTypes(int ship) {
+        int intact = this.modules[ship];
+        int types = 0;
+        if ((intact & ENGINE_BIT) != 0) {
+            types |= ModuleType.bit(ModuleType.ENGINE);
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if ((intact & (1 << (slot + 1))) != 0) {
+                types |= ModuleType.bit(this.loadout[ship * SLOTS + slot]);
+            }
+        }
+        if (ship == COLLECTOR && this.containers > 0) {
+            types |= ModuleType.bit(ModuleType.CONTAINER);
+        }
+        return types;
+    }
+
+    /**
+     * Gets the number of intact modules of a ship including engine and
+     * containers.
+     *
+     * @param ship Index of the ship
+     * @return number of modules
+     */
+    public int getModuleCount(int ship) {
+        int count = Integer.bitCount(this.modules[ship]);
+        if (ship == COLLECTOR) {
+            count += this.containers;
+        }
+        return count;
+    }
+
+    /**
+     * Clears bits of the module mask of a ship.
+     *
+     * @param ship Index of the ship
+     * @param bits Bits to clear
+     */
+    public void destroyModules(int ship, int bits) {
+        this.modules[ship] = (byte) (this.modules[ship] & ~bits);
+        refreshActions(ship);
+    }
+
+    /**
+     * Gets the number of intact containers of the collector.
+     *
+     * @return containers
+     */
+    public int getContainers() {
+        return containers;
+    }
+
+    /**
+     * Sets the number of intact containers of the collector.
+     *
+     * @param containers Number of containers
+     */
+    public void setContainers(int containers) {
+        this.containers = containers;
+        refreshActions(COLLECTOR);
+    }
+
+    /**
+     * Gets the tile index of the position of a ship.
+     *
+     * @param ship Index of the ship
+     * @return tile index
+     */
+    public int getPosition(int ship) {
+        return this.positions[ship];
+    }
+
+    /**
+     * Sets the tile index of the position of a ship.
+     *
+     * @param ship Index of the ship
+     * @param tile Tile index
+     */
+    public void setPosition(int ship, int tile) {
+        this.positions[ship] = tile;
+    }
+
+    /**
+     * Checks if a ship is marked.
+     *
+     * @param ship Index of the ship
+     * @return true if the ship is marked, false otherwise.
+     */
+    public boolean isMarked(int ship) {
+        return (this.marks & (1 << ship)) != 0;
+    }
+
+    /**
+     * Marks a ship.
+     *
+     * @param ship Index of the ship
+     */
+    public void mark(int ship) {
+        this.marks = (byte) (this.marks | (1 << ship));
+    }
+
+    /**
+     * Removes the marking from a ship.
+     *
+     * @param ship Index of the ship
+     */
+    public void clearMark(int ship) {
+        this.marks = (byte) (this.marks & ~(1 << ship));
+    }
+
+    /**
+     * Removes all markings from the fleet.
+     */
+    public void clearMarks() {
+        this.marks = 0;
+    }
+
+    /**
+     * Checks if a ship was destroyed as a whole.
+     *
+     * @param ship Index of the ship
+     * @return true if the ship was destroyed, false otherwise.
+     */
+    public boolean isDestroyed(int ship) {
+        return (this.destroyed & (1 << ship)) != 0;
+    }
+
+    /**
+     * Destroys a ship as a whole. All of its modules and containers are lost.
+     *
+     * @param ship Index of the ship
+     */
+    public void destroy(int ship) {
+        this.modules[ship] = 0;
+        if (ship == COLLECTOR) {
+            this.containers = 0;
+        }
+        this.destroyed = (byte) (this.destroyed | (1 << ship));
+        refreshActions(ship);
+    }
+
+    /**
+     * Copies the state of a ship from another store.
+     *
+     * @param ship     Index of the ship in this store
+     * @param from     Store to copy from
+     * @param fromShip Index of the ship in the other store
+     */
+    public void copyShip(int ship, FleetState from, int fromShip) {
+        System.arraycopy(from.loadout, fromShip * SLOTS, this.loadout, ship * SLOTS, SLOTS);
+        this.modules[ship] = from.modules[fromShip];
+        this.positions[ship] = from.positions[fromShip];
+        if (from.isMarked(fromShip)) {
+            mark(ship);
+        } else {
+            clearMark(ship);
+        }
+        if (from.isDestroyed(fromShip)) {
+            this.destroyed = (byte) (this.destroyed | (1 << ship));
+        } else {
+            this.destroyed = (byte) (this.destroyed & ~(1 << ship));
+        }
+        if (ship == COLLECTOR) {
+            this.containers = from.containers;
+        }
+        refreshActions(ship);
+    }
+
+    /**
+     * Gets the markings of all ships.
+     *
+     * @return one bit per ship index
+     */
+    public int getMarks() {
+        return this.marks;
+    }
+
+    /**
+     * Restores markings returned by getMarks().
+     *
+     * @param marks One bit per ship index
+     */
+    public void setMarks(int marks) {
+        this.marks = (byte) marks;
+    }
+
+    /**
+     * Packs the modules of a ship, its destroyed flag and, for the collector, the
+     * containers into one integer.
+     *
+     * @param ship Index of the ship
+     * @return packed ship state
+     */
+    public int save(int ship) {
+        int saved = this.modules[ship] & SAVED_MODULES;
+        if (isDestroyed(ship)) {
+            saved |= SAVED_DESTROYED;
+        }
+        if (ship == COLLECTOR) {
+            saved |= this.containers << SAVED_CONTAINERS_SHIFT;
+        }
+        return saved;
+    }
+
+    /**
+     * Restores a ship state returned by save().
+     *
+     * @param ship  Index of the ship
+     * @param saved Packed ship state
+     */
+    public void restore(int ship, int saved) {
+        this.modules[ship] = (byte) (saved & SAVED_MODULES);
+        if ((saved & SAVED_DESTROYED) != 0) {
+            this.destroyed = (byte) (this.destroyed | (1 << ship));
+        } else {
+            this.destroyed = (byte) (this.destroyed & ~(1 << ship));
+        }
+        if (ship == COLLECTOR) {
+            this.containers = saved >>> SAVED_CONTAINERS_SHIFT;
+        }
+        refreshActions(ship);
+    }
+
+    /**
+     * Gets the actions all intact ships of the fleet can play in a new turn. The
+     * bits of every ship are packed as described in Playables.
+     *
+     * @return packed action bits
+     */
+    public int getActions() {
+        return actions;
+    }
+
+    /**
+     * Recalculates the actions of a ship after its modules changed. A ship without
+     * intact modules has no actions, every other ship can ramm.
+     */
+    private void refreshActions(int ship) {
+        int shipActions = 0;
+        int intact = this.modules[ship];
+        if (intact != 0 || (ship == COLLECTOR && this.containers > 0)) {
+            shipActions = Playables.RAMM;
+            if ((intact & ENGINE_BIT) != 0) {
+                shipActions |= Playables.ENGINE;
+            }
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if ((intact & (1 << (slot + 1))) != 0) {
+                    shipActions |= actionOf(this.loadout[ship * SLOTS + slot], shipActions);
+                }
+            }
+        }
+        this.actions = (this.actions & ~Playables.pack(ship, SHIP_ACTIONS)) | Playables.pack(ship, shipActions);
+    }
+
+    private static int actionOf(int type, int known) {
+        switch (type) {
+        case ModuleType.PROPULSION:
+            return Playables.PROPULSION;
+        case ModuleType.RAILGUN:
+            return Playables.RAILGUN;
+        case ModuleType.SENSOR:
+            return Playables.SENSOR;
+        case ModuleType.SWORD:
+            if ((known & Playables.SWORD) != 0) {
+                return Playables.SWORD_SECOND;
+            }
+            return Playables.SWORD;
+        default:
+            return 0;
+        }
+    }
+}
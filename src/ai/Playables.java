@@ -0,0 +1,150 @@
+package ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the actions the attacking fleet can still play in the current turn.
+ * Every ship of the fleet owns 8 bits of a single integer, so a new turn only
+ * copies the precomputed action mask of the fleet store.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class Playables {
+    /**
+     * Move with the engine.
+     */
+    public static final int ENGINE = 1;
+    /**
+     * Extra move with the propulsion.
+     */
+    public static final int PROPULSION = 1 << 1;
+    /**
+     * Longshot with the rail gun.
+     */
+    public static final int RAILGUN = 1 << 2;
+    /**
+     * Strike with the sword.
+     */
+    public static final int SWORD = 1 << 3;
+    /**
+     * Mark with the sensor.
+     */
+    public static final int SENSOR = 1 << 4;
+    /**
+     * Ramm another ship.
+     */
+    public static final int RAMM = 1 << 5;
+    /**
+     * Strike with the second sword of a ship. It is only set together with SWORD.
+     */
+    public static final int SWORD_SECOND = 1 << 6;
+
+    private static final int SHIP_SHIFT = 3;
+    private static final int SHIP_MASK = 0xFF;
+    private static final int[] ACTIONS = { ENGINE, PROPULSION, RAILGUN, SWORD, SWORD_SECOND, SENSOR, RAMM };
+    private static final String[] ACTION_NAMES = { "MOVE", "PROPEL", "LONGSHOT", "STRIKE", "STRIKE", "MARK",
+        "RAMM" };
+
+    private int bits;
+
+    /**
+     * Resets the playables to all actions of the ships of a fleet.
+     *
+     * @param state Store of the attacking fleet
+     */
+    public void reset(FleetState state) {
+        this.bits = state.getActions();
+    }
+
+    /**
+     * Restores playables returned by getBits().
+     *
+     * @param bits Packed action bits
+     */
+    public void restore(int bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Removes all playables.
+     */
+    public void clear() {
+        this.bits = 0;
+    }
+
+    /**
+     * Checks if a ship can still play an action in the current turn.
+     *
+     * @param ship   Index of the ship in its fleet
+     * @param action Action bit
+     * @return true if the action is playable, false otherwise.
+     */
+    public boolean canPlay(int ship, int action) {
+        return (get(ship) & action) != 0;
+    }
+
+    /**
+     * Removes an action of a ship for the current turn. A ship with two swords
+     * loses its second strike first.
+     *
+     * @param ship   Index of the ship in its fleet
+     * @param action Action bit
+     */
+    public void play(int ship, int action) {
+        int toClear = action;
+        if (action == SWORD && canPlay(ship, SWORD_SECOND)) {
+            toClear = SWORD_SECOND;
+        }
+        this.bits &= ~(toClear << (ship << SHIP_SHIFT));
+    }
+
+    /**
+     * Gets the playable actions of a ship.
+     *
+     * @param ship Index of the ship in its fleet
+     * @return action bits
+     */
+    public int get(int ship) {
+        return (this.bits >>> (ship << SHIP_SHIFT)) & SHIP_MASK;
+    }
+
+    /**
+     * Gets the playable actions of all ships packed into one integer.
+     *
+     * @return packed action bits
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    /**
+     * Creates a list of the names of the playable actions of a ship.
+     *
+     * @param ship Index of the ship in its fleet
+     * @return action names
+     */
+    public List<String> actionNames(int ship) {
+        List<String> names = new ArrayList<String>();
+        int actions = get(ship);
+        for (int i = 0; i < ACTIONS.length; i++) {
+            if ((actions & ACTIONS[i]) != 0) {
+                names.add(ACTION_NAMES[i]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Packs the action bits of a ship at its place in the packed integer.
+     *
+     * @param ship    Index of the ship in its fleet
+     * @param actions Action bits
+     * @return packed action bits
+     */
+    public static int pack(int ship, int actions) {
+        return actions << (ship << SHIP_SHIFT);
+    }
+}
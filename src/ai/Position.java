@@ -1,25 +1,30 @@
 package ai;
 
 /**
- * Represents a position
+ * Represents a position. Positions are immutable and interned per board, the
+ * packed coordinate of a position is its tile index y * length + x. New
+ * positions are only created by the PositionCache of a board.
  * 
  * @author Emir Yuksel
  * @version 1.0
  *
  */
-public class Position {
-    private int x;
-    private int y;
+public final class Position {
+    private final int x;
+    private final int y;
+    private final int tile;
 
     /**
      * Creates a position.
      * 
-     * @param y Coordinate on y-axis
-     * @param x Coordinate on x-axis.
+     * @param y    Coordinate on y-axis
+     * @param x    Coordinate on x-axis.
+     * @param tile Packed coordinate
      */
-    public Position(int y, int x) {
+    Position(int y, int x, int tile) {
         this.x = x;
         this.y = y;
+        this.tile = tile;
     }
 
     /**
@@ -39,4 +44,13 @@ public class Position {
     public int getX() {
         return x;
     }
+
+    /**
+     * Gets the packed coordinate, it is the tile index y * length + x.
+     * 
+     * @return the tile
+     */
+    public int getTile() {
+        return tile;
+    }
 }
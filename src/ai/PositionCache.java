@@ -0,0 +1,68 @@
+package ai;
+
+/**
+ * Interned positions of a board. Coordinates are packed into a single integer
+ * y * length + x, the same tile index the bitboard uses. Every tile has exactly
+ * one position object, so moves and validation never allocate positions.
+ * 
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class PositionCache {
+    /**
+     * Packed coordinate of all positions outside of the board.
+     */
+    public static final int OFF_BOARD = -1;
+
+    private final int length;
+    private final Position[] positions;
+
+    /**
+     * Creates the positions of a quadratic board.
+     * 
+     * @param length Length of one side of the board
+     */
+    public PositionCache(int length) {
+        this.length = length;
+        this.positions = new Position[length * length];
+        for (int tile = 0; tile < this.positions.length; tile++) {
+            this.positions[tile] = new Position(tile / length, tile % length, tile);
+        }
+    }
+
+    /**
+     * Packs a coordinate into a tile index.
+     * 
+     * @param y Coordinate on y-axis
+     * @param x Coordinate on x-axis
+     * @return tile index, OFF_BOARD if the coordinate is outside of the board.
+     */
+    public int pack(int y, int x) {
+        if (y < 0 || x < 0 || y >= this.length || x >= this.length) {
+            return OFF_BOARD;
+        }
+        return y * this.length + x;
+    }
+
+    /**
+     * Gets the position of a tile index.
+     * 
+     * @param tile Tile index
+     * @return position
+     */
+    public Position get(int tile) {
+        return this.positions[tile];
+    }
+
+    /**
+     * Gets the position of a coordinate.
+     * 
+     * @param y Coordinate on y-axis
+     * @param x Coordinate on x-axis
+     * @return position
+     */
+    public Position get(int y, int x) {
+        return this.positions[y * this.length + x];
+    }
+}
@@ -0,0 +1,122 @@
+package ai;
+
+import ai.occupier.spaceship.Spaceship;
+
+/**
+ * Index of all ships of a game. Ships can be looked up in constant time by
+ * their letter or by their ordinal. The ordinal of a ship is its index in the
+ * fleet store, plus 4 for the ships of Zeta.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class ShipIndex {
+    /**
+     * Number of ships in a game.
+     */
+    public static final int SHIPS = 2 * FleetState.SHIPS;
+
+    private static final int LETTERS = 26;
+    private static final int NOT_FOUND = -1;
+
+    private final Spaceship[] ships = new Spaceship[SHIPS];
+    private final AI[] owners = new AI[SHIPS];
+    private final int[] ordinals = new int[LETTERS];
+
+    /**
+     * Creates the index of a game.
+     *
+     * @param alpha Alpha AI
+     * @param zeta  Zeta AI
+     */
+    public ShipIndex(AI alpha, AI zeta) {
+        for (int i = 0; i < LETTERS; i++) {
+            this.ordinals[i] = NOT_FOUND;
+        }
+        add(alpha, 0);
+        add(zeta, FleetState.SHIPS);
+    }
+
+    private void add(AI ai, int offset) {
+        Fleet fleet = ai.getFleet();
+        for (int index = 0; index < FleetState.SHIPS; index++) {
+            Spaceship ship = fleet.getShip(index);
+            int ordinal = offset + index;
+            this.ships[ordinal] = ship;
+            this.owners[ordinal] = ai;
+            this.ordinals[ship.getName().charAt(0) - 'A'] = ordinal;
+        }
+    }
+
+    /**
+     * Gets the ordinal of a ship letter.
+     *
+     * @param letter Upper case letter of the ship
+     * @return ordinal, -1 if no ship has this letter.
+     */
+    public int ordinal(char letter) {
+        int i = letter - 'A';
+        if (i < 0 || i >= LETTERS) {
+            return NOT_FOUND;
+        }
+        return this.ordinals[i];
+    }
+
+    /**
+     * Gets the ordinal of a ship.
+     *
+     * @param ship Spaceship of this game
+     * @return ordinal
+     */
+    public int ordinal(Spaceship ship) {
+        return ordinal(ship.getName().charAt(0));
+    }
+
+    /**
+     * Gets a ship by its ordinal.
+     *
+     * @param ordinal Ordinal of the ship
+     * @return Spaceship
+     */
+    public Spaceship getShip(int ordinal) {
+        return this.ships[ordinal];
+    }
+
+    /**
+     * Gets a ship by its name.
+     *
+     * @param name Name to search
+     * @return Spaceship which has the given name, null if it does not exist.
+     */
+    public Spaceship getShip(String name) {
+        if (name.length() != 1) {
+            return null;
+        }
+        int ordinal = ordinal(name.charAt(0));
+        if (ordinal == NOT_FOUND) {
+            return null;
+        }
+        return this.ships[ordinal];
+    }
+
+    /**
+     * Gets the AI which owns a ship.
+     *
+     * @param ordinal Ordinal of the ship
+     * @return owner AI
+     */
+    public AI getOwner(int ordinal) {
+        return this.owners[ordinal];
+    }
+
+    /**
+     * Gets the AI which owns a ship.
+     *
+     * @param ship Spaceship of this game
+     * @return owner AI
+     */
+    public AI getOwner(Spaceship ship) {
+        return this.owners[ordinal(ship)];
+    }
+}
@@ -3,25 +3,27 @@ package ai.occupier.spaceship;
 import java.util.ArrayList;
 import java.util.List;
 
+import ai.FleetState;
 import ai.Position;
-import module.Engine;
+import module.ModuleType;
 import module.Modulus;
 
 /**
- * Represents an attackership.
+ * Represents an attackership. The state of the ship is kept in the store of
+ * its fleet.
  * 
  * @author Emir Yuksel
  * @version 1.0
  *
  */
 public class Attackership implements Spaceship {
+    private static final int DETACHED_INDEX = 1;
 
-    private Position position;
     private final String name;
-    private Engine engine = new Engine();
-    private List<Modulus> modules;
-    private boolean isMarked = false;
-    private boolean isDestroyed = false;
+    private FleetState state = new FleetState();
+    private int index = DETACHED_INDEX;
+    private Position position;
+    private final ModuleIterator iterator = new ModuleIterator();
 
     /**
      * Creates an attackership.
@@ -31,7 +33,9 @@ public class Attackership implements Spaceship {
      */
     public Attackership(String name, List<Modulus> modules) {
         this.name = name;
-        this.modules = modules;
+        for (int slot = 0; slot < modules.size() && slot < FleetState.SLOTS; slot++) {
+            this.state.setLoadout(this.index, slot, ModuleType.of(modules.get(slot).getName()));
+        }
 
     }
 
@@ -42,8 +46,21 @@ public class Attackership implements Spaceship {
     }
 
     @Override
-    public void setPosition(int y, int x) {
-        this.position = new Position(y, x);
+    public void attach(FleetState state, int index) {
+        state.copyShip(index, this.state, this.index);
+        this.state = state;
+        this.index = index;
+    }
+
+    @Override
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public void setPosition(Position position) {
+        this.state.setPosition(this.index, position.getTile());
+        this.position = position;
 
     }
 
@@ -52,30 +69,48 @@ public class Attackership implements Spaceship {
         return this.position;
     }
 
+    @Override
+    public int getTile() {
+        return this.state.getPosition(this.index);
+    }
+
     @Override
     public List<Modulus> getModules() {
         List<Modulus> allModules = new ArrayList<Modulus>();
-        if (!this.engine.isDestroyed()) {
-            allModules.add(engine);
-        }
-        for (Modulus module : this.modules) {
-            if (!module.isDestroyed()) {
-                allModules.add(module);
-            }
+        for (Modulus module : modules()) {
+            allModules.add(module);
         }
 
         return allModules;
     }
 
+    @Override
+    public int getModuleCount() {
+        return this.state.getModuleCount(this.index);
+    }
+
+    @Override
+    public int getModuleMask() {
+        return this.state.getModuleTypes(this.index);
+    }
+
+    @Override
+    public ModuleIterator modules() {
+        return this.iterator.reset(this.state, this.index);
+    }
+
     @Override
     public void removeModule(Modulus module) {
         if (module.getName().equals("ENGINE")) {
-            this.engine.destroy();
+            this.state.destroyModules(this.index, FleetState.ENGINE_BIT);
             return;
         }
-        for (Modulus moduleToRemove : this.modules) {
-            if (module.getName().equals(moduleToRemove.getName()) && !moduleToRemove.isDestroyed()) {
-                moduleToRemove.destroy();
+        int type = ModuleType.of(module.getName());
+        int intact = this.state.getModules(this.index);
+        for (int slot = 0; slot < FleetState.SLOTS; slot++) {
+            int bit = 1 << (slot + 1);
+            if (this.state.getLoadout(this.index, slot) == type && (intact & bit) != 0) {
+                this.state.destroyModules(this.index, bit);
                 return;
             }
         }
@@ -83,7 +118,7 @@ public class Attackership implements Spaceship {
 
     @Override
     public boolean isDestroyed() {
-        if (!getModules().isEmpty()) {
+        if (this.state.getModules(this.index) != 0) {
             return false;
         }
         return true;
@@ -91,24 +126,27 @@ public class Attackership implements Spaceship {
 
     @Override
     public boolean isMarked() {
-        return isMarked;
+        return this.state.isMarked(this.index);
 
     }
 
     @Override
     public void mark() {
-        this.isMarked = true;
+        this.state.mark(this.index);
     }
 
     @Override
     public void clearMark() {
-        this.isMarked = false;
+        this.state.clearMark(this.index);
     }
 
     @Override
     public boolean containsShield() {
-        for (Modulus module : this.modules) {
-            if (module.getName().equals("SHIELD")) {
+        if (this.state.isDestroyed(this.index)) {
+            return false;
+        }
+        for (int slot = 0; slot < FleetState.SLOTS; slot++) {
+            if (this.state.getLoadout(this.index, slot) == ModuleType.SHIELD) {
                 return true;
             }
         }
@@ -117,9 +155,7 @@ public class Attackership implements Spaceship {
 
     @Override
     public void destroy() {
-        this.modules.clear();
-        this.engine.destroy();
-        isDestroyed = true;
+        this.state.destroy(this.index);
 
     }
 
@@ -131,22 +167,18 @@ public class Attackership implements Spaceship {
 
     @Override
     public boolean hasModule(Modulus module) {
-        for (Modulus toCheck : getModules()) {
-            if (toCheck.getName().equals(module.getName())) {
-                return true;
-            }
-        }
-        return false;
+        int type = ModuleType.of(module.getName());
+        return type != ModuleType.NONE && hasModule(type);
+    }
+
+    @Override
+    public boolean hasModule(int type) {
+        return (getModuleMask() & ModuleType.bit(type)) != 0;
     }
 
     @Override
     public boolean hasNoWeapon() {
-        for (Modulus module : getModules()) {
-            if (module.equals(module)) {
-                return false;
-            }
-        }
-        return true;
+        return (getModuleMask() & ModuleType.WEAPONS) == 0;
     }
 
 }
@@ -3,13 +3,14 @@ package ai.occupier.spaceship;
 import java.util.ArrayList;
 import java.util.List;
 
+import ai.FleetState;
 import ai.Position;
-import module.Container;
-import module.Engine;
+import module.ModuleType;
 import module.Modulus;
 
 /**
- * Represents a collector.
+ * Represents a collector. The state of the collector is kept in the store of
+ * its fleet.
  * 
  * @author Emir Yuksel
  * @version 1.0
@@ -17,11 +18,11 @@ import module.Modulus;
  */
 public class Collector implements Spaceship {
 
-    private Position position;
     private final String name;
-    private Engine engine = new Engine();
-    private boolean isDestroyed = false;
-    private List<Container> containers = new ArrayList<Container>();
+    private FleetState state = new FleetState();
+    private int index = FleetState.COLLECTOR;
+    private Position position;
+    private final ModuleIterator iterator = new ModuleIterator();
 
     /**
      * Creates a collector.
@@ -31,9 +32,7 @@ public class Collector implements Spaceship {
      */
     public Collector(int total, String name) {
         this.name = name;
-        while (containers.size() < total) {
-            containers.add(new Container());
-        }
+        this.state.setContainers(total);
 
     }
 
@@ -44,8 +43,21 @@ public class Collector implements Spaceship {
     }
 
     @Override
-    public void setPosition(int y, int x) {
-        this.position = new Position(y, x);
+    public void attach(FleetState state, int index) {
+        state.copyShip(index, this.state, this.index);
+        this.state = state;
+        this.index = index;
+    }
+
+    @Override
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public void setPosition(Position position) {
+        this.state.setPosition(this.index, position.getTile());
+        this.position = position;
 
     }
 
@@ -54,34 +66,49 @@ public class Collector implements Spaceship {
         return this.position;
     }
 
+    @Override
+    public int getTile() {
+        return this.state.getPosition(this.index);
+    }
+
     @Override
     public List<Modulus> getModules() {
         List<Modulus> allModules = new ArrayList<Modulus>();
-        if (!this.engine.isDestroyed()) {
-            allModules.add(engine);
-        }
-        for (Container container : this.containers) {
-            if (!container.isDestroyed()) {
-                allModules.add(container);
-            }
+        for (Modulus module : modules()) {
+            allModules.add(module);
         }
 
         return allModules;
     }
 
+    @Override
+    public int getModuleCount() {
+        return this.state.getModuleCount(this.index);
+    }
+
+    @Override
+    public int getModuleMask() {
+        return this.state.getModuleTypes(this.index);
+    }
+
+    @Override
+    public ModuleIterator modules() {
+        return this.iterator.reset(this.state, this.index);
+    }
+
     @Override
     public void removeModule(Modulus module) {
         if (module.getName().equals("ENGINE")) {
-            this.engine.destroy();
+            this.state.destroyModules(this.index, FleetState.ENGINE_BIT);
             return;
         }
-        this.containers.remove(containers.size() - 1);
+        this.state.setContainers(this.state.getContainers() - 1);
 
     }
 
     @Override
     public boolean isDestroyed() {
-        if (this.engine.isDestroyed() && this.containers.isEmpty()) {
+        if ((this.state.getModules(this.index) & FleetState.ENGINE_BIT) == 0 && this.state.getContainers() == 0) {
             return true;
         }
         return false;
@@ -99,9 +126,7 @@ public class Collector implements Spaceship {
 
     @Override
     public void destroy() {
-        this.containers.clear();
-        this.engine.destroy();
-        isDestroyed = true;
+        this.state.destroy(this.index);
     }
 
     @Override
@@ -117,12 +142,13 @@ public class Collector implements Spaceship {
 
     @Override
     public boolean hasModule(Modulus module) {
-        for (Modulus toCheck : getModules()) {
-            if (toCheck.getName().equals(module.getName())) {
-                return true;
-            }
-        }
-        return false;
+        int type = ModuleType.of(module.getName());
+        return type != ModuleType.NONE && hasModule(type);
+    }
+
+    @Override
+    public boolean hasModule(int type) {
+        return (getModuleMask() & ModuleType.bit(type)) != 0;
     }
 
     @Override
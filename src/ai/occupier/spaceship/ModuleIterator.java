@@ -0,0 +1,80 @@
+package ai.occupier.spaceship;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ai.FleetState;
+import module.ModuleType;
+import module.Modulus;
+
+/**
+ * Reusable iterator over the intact modules of a ship. Every ship owns one
+ * instance which is reset on each call of Spaceship.modules(), so iterating
+ * does not allocate. The modules are taken from a snapshot of the ship state
+ * at the time of the reset, removing modules while iterating is allowed.
+ * 
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class ModuleIterator implements Iterator<Modulus>, Iterable<Modulus> {
+    private FleetState state;
+    private int ship;
+    private int intact;
+    private int containers;
+
+    /**
+     * Resets the iterator to the current modules of a ship.
+     * 
+     * @param state Store of the fleet
+     * @param ship  Index of the ship in the store
+     * @return this iterator
+     */
+    public ModuleIterator reset(FleetState state, int ship) {
+        this.state = state;
+        this.ship = ship;
+        this.intact = state.getModules(ship);
+        this.containers = ship == FleetState.COLLECTOR ? state.getContainers() : 0;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.intact != 0 || this.containers > 0;
+    }
+
+    /**
+     * Gets the code of the next module.
+     * 
+     * @return module code
+     */
+    public int nextType() {
+        if ((this.intact & FleetState.ENGINE_BIT) != 0) {
+            this.intact &= ~FleetState.ENGINE_BIT;
+            return ModuleType.ENGINE;
+        }
+        if (this.intact != 0) {
+            int bit = Integer.numberOfTrailingZeros(this.intact);
+            this.intact &= ~(1 << bit);
+            return this.state.getLoadout(this.ship, bit - 1);
+        }
+        if (this.containers > 0) {
+            this.containers--;
+            return ModuleType.CONTAINER;
+        }
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * Gets the next module. The returned module is shared, see ModuleType.get().
+     */
+    @Override
+    public Modulus next() {
+        return ModuleType.get(nextType());
+    }
+
+    @Override
+    public Iterator<Modulus> iterator() {
+        return this;
+    }
+}
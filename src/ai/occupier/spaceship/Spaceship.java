@@ -2,6 +2,7 @@ package ai.occupier.spaceship;
 
 import java.util.List;
 
+import ai.FleetState;
 import ai.Position;
 import ai.occupier.Occupier;
 import module.Modulus;
@@ -21,13 +22,28 @@ public interface Spaceship extends Occupier {
      */
     String getName();
 
+    /**
+     * Moves the state of a spaceship into the store of its fleet. Every later
+     * read and write of the ship goes to this store.
+     * 
+     * @param state Store of the fleet
+     * @param index Index of the ship in the store
+     */
+    void attach(FleetState state, int index);
+
+    /**
+     * Gets the index of a spaceship in the store of its fleet.
+     * 
+     * @return index
+     */
+    int getIndex();
+
     /**
      * Sets the position of a spaceship.
      * 
-     * @param y Coordinate on y-axis
-     * @param x Coordinate on x-axis
+     * @param position Interned position of the board
      */
-    void setPosition(int y, int x);
+    void setPosition(Position position);
 
     /**
      * Gets the position of a spaceship.
@@ -37,12 +53,45 @@ public interface Spaceship extends Occupier {
     Position getPosition();
 
     /**
-     * Gets the list of intact modules of a spaceship.
+     * Gets the packed coordinate of a spaceship, it is the tile index of its
+     * position.
+     * 
+     * @return tile index
+     */
+    int getTile();
+
+    /**
+     * Gets the list of intact modules of a spaceship. The list is a new copy on
+     * every call, rule checks should use the methods below.
      * 
      * @return list of modules
      */
     List<Modulus> getModules();
 
+    /**
+     * Gets the number of intact modules of a spaceship including engine and
+     * containers.
+     * 
+     * @return number of modules
+     */
+    int getModuleCount();
+
+    /**
+     * Gets the codes of the intact modules of a spaceship as a mask, the bit of a
+     * module code is ModuleType.bit(code).
+     * 
+     * @return module type mask
+     */
+    int getModuleMask();
+
+    /**
+     * Iterates the intact modules of a spaceship in the order of getModules()
+     * without allocating. The iterator is reused by the next call.
+     * 
+     * @return module iterator
+     */
+    ModuleIterator modules();
+
     /**
      * Removes a module from a spaceship.
      * 
@@ -102,6 +151,14 @@ public interface Spaceship extends Occupier {
      */
     boolean hasModule(Modulus module);
 
+    /**
+     * Checks if a ship has an intact module of the given code.
+     * 
+     * @param type Module code to search
+     * @return true if the searched module exists, false otherwise.
+     */
+    boolean hasModule(int type);
+
     /**
      * Checks if a ship has a weapon module.
      * 
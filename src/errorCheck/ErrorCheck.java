@@ -1,13 +1,14 @@
 package errorCheck;
 
 import java.util.List;
-import java.util.Map;
 
 import ai.AI;
-import ai.Position;
-import ai.occupier.Occupier;
+import ai.Playables;
+import ai.PositionCache;
+import ai.occupier.spaceship.ModuleIterator;
 import ai.occupier.spaceship.Spaceship;
-import module.Modulus;
+import system.board.BitBoard;
+import system.board.RangeMasks;
 
 /**
  * Provides methods for error handling.
@@ -17,24 +18,6 @@ import module.Modulus;
  *
  */
 public class ErrorCheck {
-    private static final int MOVE_MIN = 1;
-    private static final int MOVE_MAX = 3;
-    private static final int RAMM_RANGE = 1;
-    private static final int STRIKE_RANGE = 1;
-    private static final int LONGSHOT_MIN = 5;
-    private static final int LONGSHOT_MAX = 6;
-
-    /**
-     * Calculates distance.
-     * 
-     * @param target  Position of target tile.
-     * @param current Position of current tile.
-     * @return distance
-     */
-    private int distance(Position target, Position current) {
-        return Math.abs(target.getX() - current.getX()) + Math.abs(target.getY() - current.getY());
-    }
-
     /**
      * Checks if the module number is acceptable. User can select maximum 3 modules.
      * 
@@ -51,94 +34,77 @@ public class ErrorCheck {
     /**
      * Checks if a tile is empty.
      * 
-     * @param board match field
-     * @param x     Coordinate of x-axis
-     * @param y     Coordinate of y-axis
+     * @param board bitboard of the match field
+     * @param tile  Packed coordinate of the tile
      * @return true if tile is not empty, false otherwise.
      */
-    public boolean isOccupied(Occupier[][] board, int x, int y) {
-        if (board[y][x] != null) {
-            return true;
-        }
-        return false;
+    public boolean isOccupied(BitBoard board, int tile) {
+        return board.isOccupied(tile);
     }
 
     /**
      * Checks if the target position is in range for move.
      * 
-     * @param target  Target position.
-     * @param current Current position
+     * @param ranges  Range masks of the board.
+     * @param target  Packed coordinate of the target.
+     * @param current Packed coordinate of the current position
      * @return true if it's in range, false otherwise.
      */
-    public boolean moveInRange(Position target, Position current) {
-        int distance = distance(target, current);
-
-        if (distance <= MOVE_MAX && distance >= MOVE_MIN) {
-            return true;
-        }
-
-        return false;
+    public boolean moveInRange(RangeMasks ranges, int target, int current) {
+        return inRange(ranges, RangeMasks.MOVE, target, current);
     }
 
     /**
      * Checks if the target position is in range for ramm.
      * 
-     * @param target  Target position.
-     * @param current Current position
+     * @param ranges  Range masks of the board.
+     * @param target  Packed coordinate of the target.
+     * @param current Packed coordinate of the current position
      * @return true if it's in range, false otherwise.
      */
-    public boolean rammInRange(Position target, Position current) {
-        if (distance(target, current) == RAMM_RANGE) {
-            return true;
-        }
-        return false;
+    public boolean rammInRange(RangeMasks ranges, int target, int current) {
+        return inRange(ranges, RangeMasks.RAMM, target, current);
     }
 
     /**
      * Checks if the target position is in range for strike.
      * 
-     * @param target  Target position.
-     * @param current Current position
+     * @param ranges  Range masks of the board.
+     * @param target  Packed coordinate of the target.
+     * @param current Packed coordinate of the current position
      * @return true if it's in range, false otherwise.
      */
-    public boolean strikeInRange(Position target, Position current) {
-        if (distance(target, current) == STRIKE_RANGE) {
-            return true;
-        }
-        return false;
+    public boolean strikeInRange(RangeMasks ranges, int target, int current) {
+        return inRange(ranges, RangeMasks.STRIKE, target, current);
     }
 
     /**
      * Checks if the target position is in range for longshot.
      * 
-     * @param target  Target position.
-     * @param current Current position
+     * @param ranges  Range masks of the board.
+     * @param target  Packed coordinate of the target.
+     * @param current Packed coordinate of the current position
      * @return true if it's in range, false otherwise.
      */
-    public boolean longShotInRange(Position target, Position current) {
-        int distance = distance(target, current);
-        if (distance >= LONGSHOT_MIN && distance <= LONGSHOT_MAX) {
-            return true;
-        }
-        return false;
+    public boolean longShotInRange(RangeMasks ranges, int target, int current) {
+        return inRange(ranges, RangeMasks.LONGSHOT, target, current);
+    }
+
+    private boolean inRange(RangeMasks ranges, int ring, int target, int current) {
+        return target != PositionCache.OFF_BOARD && ranges.inRange(ring, current, target);
     }
 
     /**
      * Checks if an action is playable.
      * 
-     * @param name      Ship name
-     * @param module    Module name
-     * @param playables a map that contains attacker AI ships and its playable
-     *                  modules.
+     * @param ship      Ship of the attacker AI
+     * @param action    Action bit of Playables
+     * @param playables playable actions of the attacker AI ships.
      * @return true if the ship has corresponding module and not used it in current
      *         turn.
      */
-    public boolean canBePlayed(String name, String module, Map<String, List<String>> playables) {
-        if (playables.get(name).contains(module)) {
-            return true;
-        }
-
-        return false;
+    public boolean canBePlayed(Spaceship ship, int action, Playables playables) {
+        return playables.canPlay(ship.getIndex(), action);
     }
 
     /**
@@ -149,13 +115,7 @@ public class ErrorCheck {
      * @return true if the ship is attacking, false otherwise.
      */
     public boolean isAttacking(Spaceship ship, AI attacker) {
-        for (Spaceship attacking : attacker.getFleet().getShips()) {
-            if (ship.getName().equals(attacking.getName())) {
-                return true;
-            }
-        }
-
-        return false;
+        return attacker.getFleet().contains(ship);
 
     }
 
@@ -166,19 +126,23 @@ public class ErrorCheck {
      * @return true if the ship has only one module, false otherwise.
      */
     public boolean hasOnlyOneModule(Spaceship ship) {
-        Spaceship check = ship;
-        int i = 0;
-        List<Modulus> modules = check.getModules();
-        modules.remove(0);
-        for (Modulus module : modules) {
-            if (module.getName().equals(modules.get(0).getName())) {
-                i++;
-            }
+        ModuleIterator modules = ship.modules();
+        /*
+         * The first module is the engine as long as it is intact and is not counted.
+         */
+        if (modules.hasNext()) {
+            modules.nextType();
         }
-        if (modules.size() == i) {
+        if (!modules.hasNext()) {
             return true;
         }
-        return false;
+        int first = modules.nextType();
+        while (modules.hasNext()) {
+            if (modules.nextType() != first) {
+                return false;
+            }
+        }
+        return true;
 
     }
 }
@@ -0,0 +1,125 @@
+package module;
+
+import module.assault.RailGun;
+import module.assault.Sword;
+import module.support.Propulsion;
+import module.support.Sensor;
+import module.support.Shield;
+
+/**
+ * Numeric codes of the module types. They are used by the compact ship state
+ * store instead of separately allocated module objects.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class ModuleType {
+    /**
+     * Code of no module.
+     */
+    public static final int NONE = -1;
+    /**
+     * Code of ENGINE.
+     */
+    public static final int ENGINE = 0;
+    /**
+     * Code of PROPULSION.
+     */
+    public static final int PROPULSION = 1;
+    /**
+     * Code of RAILGUN.
+     */
+    public static final int RAILGUN = 2;
+    /**
+     * Code of SENSOR.
+     */
+    public static final int SENSOR = 3;
+    /**
+     * Code of SHIELD.
+     */
+    public static final int SHIELD = 4;
+    /**
+     * Code of SWORD.
+     */
+    public static final int SWORD = 5;
+    /**
+     * Code of CONTAINER.
+     */
+    public static final int CONTAINER = 6;
+    /**
+     * Number of module types.
+     */
+    public static final int COUNT = 7;
+    /**
+     * Mask of the weapon module codes.
+     */
+    public static final int WEAPONS = (1 << RAILGUN) | (1 << SWORD);
+
+    private static final String ERROR_UTILITY_CLASS_INSTANTIATION = "Utility class cannot be instantiated.";
+    private static final String[] NAMES = { "ENGINE", "PROPULSION", "RAILGUN", "SENSOR", "SHIELD", "SWORD",
+        "CONTAINER" };
+
+    private static final Modulus[] SHARED = { new Engine(), new Propulsion(), new RailGun(), new Sensor(),
+        new Shield(), new Sword(), new Container() };
+
+    private ModuleType() {
+        throw new IllegalStateException(ERROR_UTILITY_CLASS_INSTANTIATION);
+    }
+
+    /**
+     * Gets the code of a module name.
+     *
+     * @param name Name of the module
+     * @return code of the module, NONE if the name is unknown.
+     */
+    public static int of(String name) {
+        for (int type = 0; type < COUNT; type++) {
+            if (NAMES[type].equals(name)) {
+                return type;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Gets the name of a module code.
+     *
+     * @param type Code of the module
+     * @return name
+     */
+    public static String nameOf(int type) {
+        return NAMES[type];
+    }
+
+    /**
+     * Checks if a module code belongs to a weapon module.
+     *
+     * @param type Code of the module
+     * @return true if it's a weapon module, false otherwise
+     */
+    public static boolean isWeapon(int type) {
+        return (WEAPONS & (1 << type)) != 0;
+    }
+
+    /**
+     * Gets the shared module object of a module code. The objects are shared by
+     * all ships and must not be destroyed.
+     *
+     * @param type Code of the module
+     * @return module
+     */
+    public static Modulus get(int type) {
+        return SHARED[type];
+    }
+
+    /**
+     * Gets the bit of a module code in a module type mask.
+     *
+     * @param type Code of the module
+     * @return bit
+     */
+    public static int bit(int type) {
+        return 1 << type;
+    }
+}
@@ -1,63 +1,157 @@
 package system;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import ai.AI;
+import ai.FleetState;
+import ai.Playables;
 import ai.Position;
+import ai.ShipIndex;
 import ai.occupier.Cover;
 import ai.occupier.Occupier;
 import ai.occupier.spaceship.Attackership;
 import ai.occupier.spaceship.Spaceship;
-import errorCheck.ErrorCheck;
 import module.Modulus;
+import system.board.BitBoard;
+import system.board.CoverTable;
+import system.board.RangeMasks;
 
 /**
- * System of the game.
+ * System of the game. From the first checkpoint until release(), every change
+ * of the game state is recorded on an undo stack, so a search can make actions
+ * and roll back to any earlier checkpoint in the number of changed fields. A Zobrist
+ * hash of the game state is kept up to date with every change.
  * 
  * @author Emir Yuksel
  * @version 1.0
  *
  */
 public class AlphaZeta {
-    private static final String RAILGUN = "RAILGUN";
-    private static final String SWORD = "SWORD";
-    private static final String ENGINE = "ENGINE";
-    private static final String PROPULSION = "PROPULSION";
-    private static final String SENSOR = "SENSOR";
-    private static final String RAMM = "RAMM";
-
     private static final int BOUND = 6;
 
-    private Random random;
-
-    private Map<String, List<String>> playables = new HashMap<>();
+    private static final int UNDO_RELOCATE = 0;
+    private static final int UNDO_PLAYABLES = 1;
+    private static final int UNDO_SHIP = 2;
+    private static final int UNDO_DESTROY = 3;
+    private static final int UNDO_MARKS = 4;
+    private static final int UNDO_TURN = 5;
+    private static final int UNDO_DICE = 6;
+    private static final int INT_BITS = 32;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    private Dice dice;
+    private UndoStack undo;
+    private boolean recording;
+    private Zobrist zobrist;
+    private long hash;
+
+    private Playables playables = new Playables();
     private Occupier[][] matchField;
+    private BitBoard board;
+    private CoverTable covers;
+    private RangeMasks ranges;
+    private ShipIndex ships;
     private AI alpha;
     private AI zeta;
 
     private AI playing;
     private AI defender;
 
+    private int forcedRoll;
     private int turn = 0;
+    private boolean running = true;
 
     /**
      * Initializes the game depending of the input.
      * 
      * @param matchField board of the game
+     * @param board      bitboard of the game, it has to match the match field
      * @param alpha      Alpha AI
      * @param zeta       Zeta AI
      * @param seed       Seed defined in the beginning
      */
-    public void init(Occupier[][] matchField, AI alpha, AI zeta, int seed) {
+    public void init(Occupier[][] matchField, BitBoard board, AI alpha, AI zeta, int seed) {
+        init(matchField, board, alpha, zeta, new Dice(seed));
+    }
+
+    /**
+     * Initializes the game with its own random generator for the dice. Rolls can
+     * only be taken back with Dice, any other generator only seeds new dice.
+     * 
+     * @param matchField board of the game
+     * @param board      bitboard of the game, it has to match the match field
+     * @param alpha      Alpha AI
+     * @param zeta       Zeta AI
+     * @param random     Random generator of the dice, used by this game only
+     */
+    public void init(Occupier[][] matchField, BitBoard board, AI alpha, AI zeta, RandomGenerator random) {
         this.matchField = matchField;
+        this.board = board;
+        this.covers = new CoverTable(board);
+        this.ranges = new RangeMasks(board);
         this.alpha = alpha;
         this.zeta = zeta;
-        this.random = new Random(seed);
+        this.ships = new ShipIndex(alpha, zeta);
+        this.dice = dice(random);
+        this.zobrist = new Zobrist(board, Math.max(alpha.getFleet().getState().getContainers(),
+                zeta.getFleet().getState().getContainers()));
+        this.hash = this.zobrist.hash(this);
+    }
+
+    /**
+     * Creates an independent copy of the game, for example for a search thread.
+     * Fleets, ships, boards, playables and dice are copied, the precomputed tables
+     * and the Zobrist keys are shared. Undo records are not copied, the copy
+     * starts without a checkpoint.
+     * 
+     * @return copy
+     */
+    public AlphaZeta copy() {
+        AlphaZeta copy = new AlphaZeta();
+        copy.board = new BitBoard(this.board);
+        copy.covers = this.covers;
+        copy.ranges = new RangeMasks(this.ranges, copy.board);
+        copy.alpha = this.alpha.copy();
+        copy.zeta = this.zeta.copy();
+        copy.ships = new ShipIndex(copy.alpha, copy.zeta);
+        copy.matchField = new Occupier[this.matchField.length][];
+        for (int y = 0; y < this.matchField.length; y++) {
+            copy.matchField[y] = this.matchField[y].clone();
+            for (int x = 0; x < copy.matchField[y].length; x++) {
+                if (copy.matchField[y][x] instanceof Spaceship) {
+                    copy.matchField[y][x] = copy.ships.getShip(((Spaceship) copy.matchField[y][x]).getName());
+                }
+            }
+        }
+        copy.dice = new Dice(0);
+        copy.dice.setState(this.dice.getState());
+        copy.zobrist = this.zobrist;
+        copy.hash = this.hash;
+        copy.turn = this.turn;
+        copy.running = this.running;
+        if (this.playing != null) {
+            copy.playing = this.playing == this.alpha ? copy.alpha : copy.zeta;
+            copy.defender = this.defender == this.alpha ? copy.alpha : copy.zeta;
+        }
+        copy.playables.restore(this.playables.getBits());
+        return copy;
+    }
+
+    /**
+     * Creates an independent copy of the game which rolls its own dice, for
+     * example a new game from a configured template.
+     * 
+     * @param random Random generator of the dice, used by the copy only
+     * @return copy
+     */
+    public AlphaZeta copy(RandomGenerator random) {
+        AlphaZeta copy = copy();
+        copy.dice = dice(random);
+        return copy;
+    }
+
+    private static Dice dice(RandomGenerator random) {
+        return random instanceof Dice ? (Dice) random : new Dice(random.nextLong());
     }
 
     /**
@@ -103,22 +197,10 @@ public class AlphaZeta {
      * @param ship   Spaceship to remove a module
      */
     public void removeModule(Modulus module, Spaceship ship) {
-        ErrorCheck errorCheck = new ErrorCheck();
-        if (errorCheck.isAttacking(ship, this.playing)) {
-            for (Spaceship damagedShip : this.playing.getFleet().getShips()) {
-                if (damagedShip.getName().equals(ship.getName())) {
-                    this.playing.removeModule(ship, module);
-                    return;
-                }
-            }
-        } else {
-            for (Spaceship damagedShip : this.defender.getFleet().getShips()) {
-                if (damagedShip.getName().equals(ship.getName())) {
-                    this.defender.removeModule(ship, module);
-                    return;
-                }
-            }
-        }
+        recordShip(ship);
+        this.hash ^= shipKey(ship);
+        this.ships.getOwner(ship).removeModule(ship, module);
+        this.hash ^= shipKey(ship);
 
     }
 
@@ -129,66 +211,79 @@ public class AlphaZeta {
 
     /**
      * Calculates cover value of a tile. Only direct neighbors are relevant for the
-     * calculation.
+     * calculation, the values are looked up in the cover table.
      * 
      * @param current Position of attacker.
      * @param target  Position of defender.
      * @return cover value
      */
     public int calculateCover(Position current, Position target) {
+        int quadrant = CoverTable.quadrant(Integer.signum(current.getY() - target.getY()),
+                Integer.signum(current.getX() - target.getX()));
+        return this.covers.get(target.getTile(), quadrant);
+    }
 
-        int currentY = current.getY();
-        int targetY = target.getY();
-
-        int currentX = current.getX();
-        int targetX = target.getX();
-        List<Integer> coverValues = new ArrayList<Integer>();
-
-        if (currentY < targetY) {
-            if (equals(this.matchField[targetY - 1][targetX])) {
-
-                Cover north = (Cover) this.matchField[targetY - 1][targetX];
-                coverValues.add(north.getValue());
-            }
-        }
-
-        if (currentY > targetY) {
-            if (equals(this.matchField[targetY + 1][targetX])) {
+    /**
+     * Gets the precomputed cover values of the board.
+     * 
+     * @return cover table
+     */
+    public CoverTable getCovers() {
+        return this.covers;
+    }
 
-                Cover south = (Cover) this.matchField[targetY + 1][targetX];
-                coverValues.add(south.getValue());
-            }
-        }
+    /**
+     * Checks if the game is still running.
+     * 
+     * @return true if the game was not quit, false otherwise.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
 
-        if (currentX < targetX) {
-            if (equals(this.matchField[targetY][targetX - 1])) {
+    /**
+     * Quits the game.
+     */
+    public void quit() {
+        this.running = false;
+    }
 
-                Cover west = (Cover) this.matchField[targetY][targetX - 1];
-                coverValues.add(west.getValue());
-            }
+    /**
+     * Rolls a dice.
+     * 
+     * @return dice
+     */
+    public int roll() {
+        if (this.forcedRoll != 0) {
+            int face = this.forcedRoll;
+            this.forcedRoll = 0;
+            return face;
         }
-
-        if (currentX > targetX) {
-            if (equals(this.matchField[targetY][targetX + 1])) {
-
-                Cover east = (Cover) this.matchField[targetY][targetX + 1];
-                coverValues.add(east.getValue());
-            }
+        if (this.recording) {
+            long state = this.dice.getState();
+            record((int) (state >>> INT_BITS), (int) state, UNDO_DICE);
         }
-        if (coverValues.isEmpty()) {
+        return dice.nextInt(BOUND) + 1;
+    }
 
-            return 0;
-        }
-        return Collections.max(coverValues);
+    /**
+     * Gets the state of the dice. Dice restored to this state roll the same
+     * faces as this game from now on.
+     *
+     * @return state of the dice
+     */
+    public long getDiceState() {
+        return this.dice.getState();
     }
 
     /**
-     * Rolls a dice.
+     * Forces the face of the next roll. The dice are not used for this roll, so a
+     * search can play out every face and roll back.
      * 
-     * @return dice
+     * @param face Face of the dice from 1 to 6
      */
-    public int roll() {
-        return random.nextInt(BOUND) + 1;
+    public void setNextRoll(int face) {
+        this.forcedRoll = face;
     }
 
     /**
@@ -196,19 +291,21 @@ public class AlphaZeta {
      * depending on current attacker.
      */
     public void startNewTurn() {
+        int previous = this.playables.getBits();
         this.playables.clear();
         if (turn == 1) {
             this.playing = zeta;
             this.defender = alpha;
-            initPlayables();
+            this.playables.reset(this.playing.getFleet().getState());
 
         }
 
         if (turn == 0) {
             this.playing = alpha;
             this.defender = zeta;
-            initPlayables();
+            this.playables.reset(this.playing.getFleet().getState());
         }
+        hashPlayables(previous);
     }
 
     /**
@@ -216,8 +313,12 @@ public class AlphaZeta {
      * turn at the end.
      */
     public void changeTurn() {
+        recordMarks();
+        record(this.turn, this.playables.getBits(), UNDO_TURN);
+        this.hash ^= marksKey();
         this.playing.clearMark();
         this.defender.clearMark();
+        this.hash ^= marksKey() ^ this.zobrist.zetaAttacking();
         if (this.turn == 1) {
             zeta = this.playing;
             alpha = this.defender;
@@ -234,50 +335,28 @@ public class AlphaZeta {
     }
 
     /**
-     * Initializes playable modules. Only intact ships and modules will be added.
-     */
-    private void initPlayables() {
-        for (Spaceship ship : this.playing.getFleet().getShips()) {
-            if (!ship.isDestroyed()) {
-                List<String> moduleNames = new ArrayList<String>();
-                for (Modulus module : ship.getModules()) {
-
-                    moduleNames.add(module.getName());
-                }
-                moduleNames.add(RAMM);
-                playables.put(ship.getName(), moduleNames);
-            }
-        }
-    }
-
-    /**
-     * Removes a module from playables.
+     * Removes an action from playables.
      * 
-     * @param playable Module to remove.
-     * @param key      Holds the name of the spaceship
+     * @param action Action bit to remove.
+     * @param ship   Spaceship which plays the action
      */
-    private void removePlayable(String playable, String key) {
-        List<String> values = this.playables.get(key);
-        int index = values.indexOf(playable);
-        values.remove(index);
-        playables.put(key, values);
+    private void removePlayable(int action, Spaceship ship) {
+        int previous = this.playables.getBits();
+        record(previous, UNDO_PLAYABLES);
+        this.playables.play(ship.getIndex(), action);
+        hashPlayables(previous);
     }
 
     /**
      * Changes the position of a spaceship and updates the current match field
      * depending on it.
      * 
-     * @param ship Spaceship to move.
-     * @param y    Coordinate on y-axis
-     * @param x    Coordinate on x-axis
+     * @param ship   Spaceship to move.
+     * @param target Packed coordinate of the target
      */
-    public void move(Spaceship ship, int y, int x) {
-
-        Position position = ship.getPosition();
-        this.matchField[position.getY()][position.getX()] = null;
-        this.playing.move(ship, y, x);
-        this.matchField[y][x] = ship;
-        removePlayable(ENGINE, ship.getName());
+    public void move(Spaceship ship, int target) {
+        relocate(ship, target);
+        removePlayable(Playables.ENGINE, ship);
 
     }
 
@@ -285,18 +364,25 @@ public class AlphaZeta {
      * Changes the position of a spaceship and updates the current match field
      * depending on it.
      * 
-     * @param ship Spaceship to move.
-     * @param y    Coordinate on y-axis
-     * @param x    Coordinate on x-axis
+     * @param ship   Spaceship to move.
+     * @param target Packed coordinate of the target
      */
-    public void propel(Spaceship ship, int y, int x) {
+    public void propel(Spaceship ship, int target) {
+        relocate(ship, target);
+        removePlayable(Playables.PROPULSION, ship);
 
-        Position position = ship.getPosition();
-        this.matchField[position.getY()][position.getX()] = null;
-        this.playing.move(ship, y, x);
-        this.matchField[y][x] = ship;
-        removePlayable(PROPULSION, ship.getName());
+    }
 
+    private void relocate(Spaceship ship, int target) {
+        Position from = ship.getPosition();
+        Position to = this.board.getPositions().get(target);
+        int ordinal = this.ships.ordinal(ship);
+        record(ordinal, from.getTile(), UNDO_RELOCATE);
+        this.hash ^= this.zobrist.position(ordinal, from.getTile()) ^ this.zobrist.position(ordinal, target);
+        this.matchField[from.getY()][from.getX()] = null;
+        this.board.move(layerOf(this.playing), from.getTile(), target);
+        this.playing.move(ship, to);
+        this.matchField[to.getY()][to.getX()] = ship;
     }
 
     /**
@@ -305,7 +391,7 @@ public class AlphaZeta {
      * @param ship Spaceship which uses the module for this action.
      */
     public void ramm(Spaceship ship) {
-        removePlayable(RAMM, ship.getName());
+        removePlayable(Playables.RAMM, ship);
     }
 
     /**
@@ -314,7 +400,7 @@ public class AlphaZeta {
      * @param ship Spaceship which uses the module for this action.
      */
     public void longShot(Spaceship ship) {
-        removePlayable(RAILGUN, ship.getName());
+        removePlayable(Playables.RAILGUN, ship);
     }
 
     /**
@@ -323,7 +409,7 @@ public class AlphaZeta {
      * @param ship Spaceship which uses the module for this action.
      */
     public void strike(Spaceship ship) {
-        removePlayable(SWORD, ship.getName());
+        removePlayable(Playables.SWORD, ship);
     }
 
     /**
@@ -333,8 +419,11 @@ public class AlphaZeta {
      * @param attacker Spaceship which uses the module for this action.
      */
     public void mark(Attackership ship, Spaceship attacker) {
-        removePlayable(SENSOR, attacker.getName());
+        removePlayable(Playables.SENSOR, attacker);
+        recordMarks();
+        this.hash ^= marksKey();
         this.defender.mark(ship);
+        this.hash ^= marksKey();
 
     }
 
@@ -365,7 +454,8 @@ public class AlphaZeta {
     }
 
     /**
-     * Gets the match field.
+     * Gets the match field. It is a compatibility view of the bitboard, rule
+     * checks should use getBoard().
      * 
      * @return game board.
      */
@@ -374,11 +464,66 @@ public class AlphaZeta {
     }
 
     /**
-     * Gets the map which contains playable ships and modules.
+     * Gets the bitboard of the game.
+     * 
+     * @return bitboard
+     */
+    public BitBoard getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Gets the precomputed range masks of the board.
+     * 
+     * @return range masks
+     */
+    public RangeMasks getRanges() {
+        return this.ranges;
+    }
+
+    /**
+     * Writes the tiles of all intact enemy ships in range of a ship.
+     * 
+     * @param ring Ring of the action, see RangeMasks
+     * @param ship Acting spaceship
+     * @param into Mask to write into
+     * @return true if at least one enemy ship is in range, false otherwise.
+     */
+    public boolean targets(int ring, Spaceship ship, long[] into) {
+        AI enemy = this.ships.getOwner(ship) == this.alpha ? this.zeta : this.alpha;
+        return this.ranges.targets(ring, ship.getTile(), this.board.layer(layerOf(enemy)), into);
+    }
+
+    /**
+     * Writes all free tiles a ship can move or propel to.
+     * 
+     * @param ship Spaceship to move
+     * @param into Mask to write into
+     * @return true if at least one tile can be reached, false otherwise.
+     */
+    public boolean reachable(Spaceship ship, long[] into) {
+        return this.ranges.reachable(ship.getTile(), into);
+    }
+
+    /**
+     * Gets the bitboard layer of an AI.
+     * 
+     * @param ai AI to get the layer of
+     * @return ALPHA or ZETA layer
+     */
+    public int layerOf(AI ai) {
+        if (ai == this.alpha) {
+            return BitBoard.ALPHA;
+        }
+        return BitBoard.ZETA;
+    }
+
+    /**
+     * Gets the actions the ships of the attacker AI can still play in this turn.
      * 
      * @return playables
      */
-    public Map<String, List<String>> getPlayables() {
+    public Playables getPlayables() {
         return this.playables;
     }
 
@@ -389,18 +534,16 @@ public class AlphaZeta {
      * @return Spaceship which has the given name.
      */
     public Spaceship getShipByName(String name) {
-        List<Spaceship> allShips = new ArrayList<Spaceship>();
-
-        allShips.addAll(this.alpha.getFleet().getShips());
-        allShips.addAll(this.zeta.getFleet().getShips());
-        Spaceship searched = null;
-        for (Spaceship ship : allShips) {
-            if (ship.getName().equals(name)) {
-                searched = ship;
-                break;
-            }
-        }
-        return searched;
+        return this.ships.getShip(name);
+    }
+
+    /**
+     * Gets the index of all ships of the game.
+     * 
+     * @return ship index
+     */
+    public ShipIndex getShips() {
+        return this.ships;
     }
 
     /**
@@ -410,14 +553,188 @@ public class AlphaZeta {
      */
     public void destroyShip(Spaceship ship) {
         Position position = ship.getPosition();
+        AI owner = this.ships.getOwner(ship);
+        record(this.ships.ordinal(ship), owner.getFleet().getState().save(ship.getIndex()), UNDO_DESTROY);
+        this.hash ^= shipKey(ship);
         this.matchField[position.getY()][position.getX()] = null;
-        ErrorCheck check = new ErrorCheck();
-        if (check.isAttacking(ship, this.playing)) {
-            this.playing.destroyShip(ship);
-            return;
+        this.board.remove(layerOf(owner), position.getTile());
+        owner.destroyShip(ship);
+        this.hash ^= shipKey(ship);
+    }
+
+    /**
+     * Takes a checkpoint of the game. The first checkpoint starts recording the
+     * changes of the game state, earlier changes cannot be rolled back.
+     * 
+     * @return checkpoint to roll back to
+     */
+    public int checkpoint() {
+        if (this.undo == null) {
+            this.undo = new UndoStack();
         }
+        this.recording = true;
+        return this.undo.size();
+    }
 
-        this.defender.destroyShip(ship);
+    /**
+     * Checks if the changes of the game state are recorded.
+     * 
+     * @return true if a checkpoint was taken since the last release, false
+     *         otherwise
+     */
+    public boolean isRecording() {
+        return this.recording;
+    }
+
+    /**
+     * Stops recording the changes of the game state and drops all undo records.
+     * A search calls it after rolling back to its outermost checkpoint, so the
+     * actions of the real game are not recorded.
+     */
+    public void release() {
+        this.recording = false;
+        if (this.undo != null) {
+            this.undo.clear();
+        }
+    }
+
+    /**
+     * Rolls the game back to a checkpoint. All changes made after the checkpoint
+     * are taken back in reverse order, including the rolls of the dice.
+     * 
+     * @param checkpoint Checkpoint returned by checkpoint()
+     */
+    public void rollback(int checkpoint) {
+        while (this.undo.size() > checkpoint) {
+            switch (this.undo.pop()) {
+            case UNDO_RELOCATE:
+                int from = this.undo.pop();
+                undoRelocate(this.ships.getShip(this.undo.pop()), from);
+                break;
+            case UNDO_PLAYABLES:
+                restorePlayables(this.undo.pop());
+                break;
+            case UNDO_SHIP:
+                int saved = this.undo.pop();
+                Spaceship ship = this.ships.getShip(this.undo.pop());
+                this.hash ^= shipKey(ship);
+                stateOf(ship).restore(ship.getIndex(), saved);
+                this.hash ^= shipKey(ship);
+                break;
+            case UNDO_DESTROY:
+                int savedShip = this.undo.pop();
+                undoDestroy(this.ships.getShip(this.undo.pop()), savedShip);
+                break;
+            case UNDO_MARKS:
+                this.hash ^= marksKey();
+                this.zeta.getFleet().getState().setMarks(this.undo.pop());
+                this.alpha.getFleet().getState().setMarks(this.undo.pop());
+                this.hash ^= marksKey();
+                break;
+            case UNDO_TURN:
+                int bits = this.undo.pop();
+                this.hash ^= sideKey();
+                this.turn = this.undo.pop();
+                this.hash ^= sideKey();
+                startNewTurn();
+                restorePlayables(bits);
+                break;
+            default:
+                long low = this.undo.pop() & INT_MASK;
+                this.dice.setState(((long) this.undo.pop() << INT_BITS) | low);
+                break;
+            }
+        }
+    }
+
+    private void undoRelocate(Spaceship ship, int tile) {
+        Position from = ship.getPosition();
+        Position to = this.board.getPositions().get(tile);
+        AI owner = this.ships.getOwner(ship);
+        int ordinal = this.ships.ordinal(ship);
+        this.hash ^= this.zobrist.position(ordinal, from.getTile()) ^ this.zobrist.position(ordinal, tile);
+        this.matchField[from.getY()][from.getX()] = null;
+        this.board.move(layerOf(owner), from.getTile(), tile);
+        owner.move(ship, to);
+        this.matchField[to.getY()][to.getX()] = ship;
+    }
+
+    private void undoDestroy(Spaceship ship, int saved) {
+        Position position = ship.getPosition();
+        this.hash ^= shipKey(ship);
+        stateOf(ship).restore(ship.getIndex(), saved);
+        this.hash ^= shipKey(ship);
+        this.board.place(layerOf(this.ships.getOwner(ship)), position.getTile());
+        this.matchField[position.getY()][position.getX()] = ship;
+    }
+
+    private void restorePlayables(int bits) {
+        int previous = this.playables.getBits();
+        this.playables.restore(bits);
+        hashPlayables(previous);
+    }
+
+    /**
+     * Gets the Zobrist hash of the game state. It covers ship positions, intact
+     * modules, containers, markings, playables and the attacking AI.
+     * 
+     * @return hash
+     */
+    public long hash() {
+        return this.hash;
+    }
+
+    /**
+     * Gets the Zobrist keys of the game.
+     * 
+     * @return keys
+     */
+    public Zobrist getZobrist() {
+        return this.zobrist;
+    }
+
+    private long shipKey(Spaceship ship) {
+        return this.zobrist.ship(this.ships.ordinal(ship), stateOf(ship), ship.getIndex());
+    }
+
+    private long marksKey() {
+        return this.zobrist.marks(0, this.alpha.getFleet().getState())
+                ^ this.zobrist.marks(1, this.zeta.getFleet().getState());
+    }
+
+    private long sideKey() {
+        return this.turn == 1 ? this.zobrist.zetaAttacking() : 0;
+    }
+
+    private void hashPlayables(int previous) {
+        this.hash ^= this.zobrist.playables(previous ^ this.playables.getBits());
+    }
+
+    private FleetState stateOf(Spaceship ship) {
+        return this.ships.getOwner(ship).getFleet().getState();
+    }
+
+    private void recordShip(Spaceship ship) {
+        record(this.ships.ordinal(ship), stateOf(ship).save(ship.getIndex()), UNDO_SHIP);
+    }
+
+    private void recordMarks() {
+        record(this.alpha.getFleet().getState().getMarks(), this.zeta.getFleet().getState().getMarks(), UNDO_MARKS);
+    }
+
+    private void record(int value, int tag) {
+        if (this.recording) {
+            this.undo.push(value);
+            this.undo.push(tag);
+        }
+    }
+
+    private void record(int first, int second, int tag) {
+        if (this.recording) {
+            this.undo.push(first);
+            this.undo.push(second);
+            this.undo.push(tag);
+        }
     }
 
-}
\ No newline at end of file
+}
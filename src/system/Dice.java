@@ -0,0 +1,82 @@
+package system;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Random generator of the dice. It is the linear congruential generator of
+ * java.util.Random, so a seed rolls the same numbers as before, but its state
+ * can be read and restored to take back rolls.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class Dice implements RandomGenerator {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final int STATE_BITS = 48;
+    private static final int INT_BITS = 32;
+    private static final int NON_NEGATIVE_BITS = 31;
+    private static final String ERROR_BOUND = "bound must be positive";
+
+    private long state;
+
+    /**
+     * Creates the dice of a seed.
+     *
+     * @param seed Seed of the game
+     */
+    public Dice(long seed) {
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Gets the state of the generator.
+     *
+     * @return state, only the lowest 48 bits are used
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    /**
+     * Restores a state returned by getState().
+     *
+     * @param state State to restore
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+
+    private int next(int bits) {
+        this.state = (this.state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (this.state >>> (STATE_BITS - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return next(INT_BITS);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException(ERROR_BOUND);
+        }
+        int value = next(NON_NEGATIVE_BITS);
+        int max = bound - 1;
+        if ((bound & max) == 0) {
+            return (int) ((bound * (long) value) >> NON_NEGATIVE_BITS);
+        }
+        for (int candidate = value; candidate - (value = candidate % bound) + max < 0;) {
+            candidate = next(NON_NEGATIVE_BITS);
+        }
+        return value;
+    }
+
+    @Override
+    public long nextLong() {
+        return ((long) next(INT_BITS) << INT_BITS) + next(INT_BITS);
+    }
+}
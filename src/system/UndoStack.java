@@ -0,0 +1,56 @@
+package system;
+
+/**
+ * Undo records of a game packed into a growing int array. A record is pushed
+ * as its fields followed by its tag, so it is popped tag first. The array only
+ * grows, rolling back and making moves again does not allocate.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+final class UndoStack {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the number of pushed values.
+     *
+     * @return size
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Pushes a value.
+     *
+     * @param value Value to push
+     */
+    void push(int value) {
+        if (this.size == this.values.length) {
+            int[] grown = new int[this.values.length * 2];
+            System.arraycopy(this.values, 0, grown, 0, this.size);
+            this.values = grown;
+        }
+        this.values[this.size++] = value;
+    }
+
+    /**
+     * Removes all values, the array is kept.
+     */
+    void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Pops the last pushed value.
+     *
+     * @return value
+     */
+    int pop() {
+        return this.values[--this.size];
+    }
+}
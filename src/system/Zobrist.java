@@ -0,0 +1,154 @@
+package system;
+
+import java.util.SplittableRandom;
+
+import ai.AI;
+import ai.FleetState;
+import ai.ShipIndex;
+import system.board.BitBoard;
+
+/**
+ * Zobrist keys of a game. The hash of a game is the XOR of one key per ship
+ * position, module mask, destroyed ship, container count and marking mask, one
+ * key per playable bit and one key if Zeta is attacking. The keys are created
+ * from a fixed seed, so equal games hash equally in every run and process.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5A0B215A7E7AL;
+    private static final int MODULE_MASKS = 1 << (FleetState.SLOTS + 1);
+    private static final int MARK_MASKS = 1 << FleetState.SHIPS;
+    private static final int PLAYABLE_BITS = Integer.SIZE;
+    private static final int SIDES = 2;
+
+    private final int size;
+    private final int maxContainers;
+    private final long[] positions;
+    private final long[] modules;
+    private final long[] destroyed;
+    private final long[] containers;
+    private final long[] marks;
+    private final long[] playables;
+    private final long zetaAttacking;
+
+    /**
+     * Creates the keys of a board.
+     *
+     * @param board         Board of the game
+     * @param maxContainers Highest number of containers of a collector
+     */
+    public Zobrist(BitBoard board, int maxContainers) {
+        SplittableRandom keys = new SplittableRandom(SEED);
+        this.size = board.getSize();
+        this.maxContainers = maxContainers;
+        this.positions = fill(keys, ShipIndex.SHIPS * this.size);
+        this.modules = fill(keys, ShipIndex.SHIPS * MODULE_MASKS);
+        this.destroyed = fill(keys, ShipIndex.SHIPS);
+        this.containers = fill(keys, SIDES * (maxContainers + 1));
+        this.marks = fill(keys, SIDES * MARK_MASKS);
+        this.playables = fill(keys, PLAYABLE_BITS);
+        this.zetaAttacking = keys.nextLong();
+    }
+
+    private static long[] fill(SplittableRandom keys, int length) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = keys.nextLong();
+        }
+        return values;
+    }
+
+    /**
+     * Gets the key of a ship on a tile.
+     *
+     * @param ordinal Ordinal of the ship
+     * @param tile    Tile index
+     * @return key
+     */
+    public long position(int ordinal, int tile) {
+        return this.positions[ordinal * this.size + tile];
+    }
+
+    /**
+     * Gets the key of the modules, the destroyed flag and for a collector the
+     * containers of a ship.
+     *
+     * @param ordinal Ordinal of the ship
+     * @param state   Store of the fleet of the ship
+     * @param index   Index of the ship in the store
+     * @return key
+     */
+    public long ship(int ordinal, FleetState state, int index) {
+        long key = this.modules[ordinal * MODULE_MASKS + state.getModules(index)];
+        if (state.isDestroyed(index)) {
+            key ^= this.destroyed[ordinal];
+        }
+        if (index == FleetState.COLLECTOR) {
+            key ^= this.containers[(ordinal / FleetState.SHIPS) * (this.maxContainers + 1) + state.getContainers()];
+        }
+        return key;
+    }
+
+    /**
+     * Gets the key of the markings of a fleet.
+     *
+     * @param side  0 for Alpha, 1 for Zeta
+     * @param state Store of the fleet
+     * @return key
+     */
+    public long marks(int side, FleetState state) {
+        return this.marks[side * MARK_MASKS + state.getMarks()];
+    }
+
+    /**
+     * Gets the XOR of the keys of all set playable bits.
+     *
+     * @param bits Packed playable bits, usually the difference of two states
+     * @return key
+     */
+    public long playables(int bits) {
+        long key = 0;
+        for (int remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            key ^= this.playables[Integer.numberOfTrailingZeros(remaining)];
+        }
+        return key;
+    }
+
+    /**
+     * Gets the key of Zeta attacking.
+     *
+     * @return key
+     */
+    public long zetaAttacking() {
+        return this.zetaAttacking;
+    }
+
+    /**
+     * Calculates the hash of a game from scratch. It has to match the hash the
+     * game keeps up to date, otherwise the game state is out of sync.
+     *
+     * @param game Game to hash
+     * @return hash
+     */
+    public long hash(AlphaZeta game) {
+        ShipIndex ships = game.getShips();
+        long hash = 0;
+        for (int ordinal = 0; ordinal < ShipIndex.SHIPS; ordinal++) {
+            FleetState state = ships.getOwner(ordinal).getFleet().getState();
+            int index = ordinal % FleetState.SHIPS;
+            hash ^= position(ordinal, state.getPosition(index)) ^ ship(ordinal, state, index);
+        }
+        AI[] sides = { game.getAlpha(), game.getZeta() };
+        for (int side = 0; side < SIDES; side++) {
+            hash ^= marks(side, sides[side].getFleet().getState());
+        }
+        hash ^= playables(game.getPlayables().getBits());
+        if (game.getPlaying() == game.getZeta()) {
+            hash ^= this.zetaAttacking;
+        }
+        return hash;
+    }
+}
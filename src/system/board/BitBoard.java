@@ -0,0 +1,413 @@
+package system.board;
+
+import ai.PositionCache;
+
+/**
+ * Bitboard representation of the game board. Every layer holds one bit per
+ * tile, the tile index is calculated as y * length + x. Layers exist for cover
+ * with value 1, cover with value 2, Alpha ships and Zeta ships, so occupancy
+ * and cover queries are plain mask operations.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class BitBoard {
+    /**
+     * Layer of covers with value 1.
+     */
+    public static final int COVER_ONE = 0;
+    /**
+     * Layer of covers with value 2.
+     */
+    public static final int COVER_TWO = 1;
+    /**
+     * Layer of the ships of Alpha.
+     */
+    public static final int ALPHA = 2;
+    /**
+     * Layer of the ships of Zeta.
+     */
+    public static final int ZETA = 3;
+
+    private static final int LAYERS = 4;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = 63;
+
+    private final int length;
+    private final int size;
+    private final int words;
+    private final long[][] layers;
+
+    private final long[] firstRow;
+    private final long[] lastRow;
+    private final long[] firstColumn;
+    private final long[] lastColumn;
+    private final long[] full;
+    private final PositionCache positions;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param length Length of one side of the quadratic board
+     */
+    public BitBoard(int length) {
+        this.length = length;
+        this.size = length * length;
+        this.words = (this.size + WORD_MASK) >>> WORD_SHIFT;
+        this.layers = new long[LAYERS][this.words];
+        this.firstRow = new long[this.words];
+        this.lastRow = new long[this.words];
+        this.firstColumn = new long[this.words];
+        this.lastColumn = new long[this.words];
+        this.full = new long[this.words];
+        this.positions = new PositionCache(length);
+
+        for (int tile = 0; tile < this.size; tile++) {
+            set(this.full, tile);
+            if (tile < length) {
+                set(this.firstRow, tile);
+            }
+            if (tile >= this.size - length) {
+                set(this.lastRow, tile);
+            }
+            if (tile % length == 0) {
+                set(this.firstColumn, tile);
+            }
+            if (tile % length == length - 1) {
+                set(this.lastColumn, tile);
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of a board. The layers are copied, the masks of the edges
+     * and the interned positions never change and are shared.
+     *
+     * @param source Board to copy
+     */
+    public BitBoard(BitBoard source) {
+        this.length = source.length;
+        this.size = source.size;
+        this.words = source.words;
+        this.layers = new long[LAYERS][];
+        for (int layer = 0; layer < LAYERS; layer++) {
+            this.layers[layer] = source.layers[layer].clone();
+        }
+        this.firstRow = source.firstRow;
+        this.lastRow = source.lastRow;
+        this.firstColumn = source.firstColumn;
+        this.lastColumn = source.lastColumn;
+        this.full = source.full;
+        this.positions = source.positions;
+    }
+
+    /**
+     * Gets the length of one side of the board.
+     *
+     * @return length
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the number of tiles on the board.
+     *
+     * @return number of tiles
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of 64 bit words of a mask on this board.
+     *
+     * @return number of words
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Gets the interned positions of the board.
+     *
+     * @return positions
+     */
+    public PositionCache getPositions() {
+        return positions;
+    }
+
+    /**
+     * Calculates the tile index of a coordinate.
+     *
+     * @param y Coordinate on y-axis
+     * @param x Coordinate on x-axis
+     * @return tile index
+     */
+    public int tile(int y, int x) {
+        return y * length + x;
+    }
+
+    /**
+     * Checks if a coordinate lies on the board.
+     *
+     * @param y Coordinate on y-axis
+     * @param x Coordinate on x-axis
+     * @return true if the coordinate is on the board, false otherwise.
+     */
+    public boolean onBoard(int y, int x) {
+        return y >= 0 && x >= 0 && y < length && x < length;
+    }
+
+    /**
+     * Places a cover on a tile.
+     *
+     * @param tile  Tile index
+     * @param value Cover value(1 or 2)
+     */
+    public void setCover(int tile, int value) {
+        set(this.layers[value == 2 ? COVER_TWO : COVER_ONE], tile);
+    }
+
+    /**
+     * Places a ship of a fleet on a tile.
+     *
+     * @param layer Layer of the fleet(ALPHA or ZETA)
+     * @param tile  Tile index
+     */
+    public void place(int layer, int tile) {
+        set(this.layers[layer], tile);
+    }
+
+    /**
+     * Removes a ship of a fleet from a tile.
+     *
+     * @param layer Layer of the fleet(ALPHA or ZETA)
+     * @param tile  Tile index
+     */
+    public void remove(int layer, int tile) {
+        this.layers[layer][tile >>> WORD_SHIFT] &= ~(1L << tile);
+    }
+
+    /**
+     * Moves a ship of a fleet from one tile to another.
+     *
+     * @param layer Layer of the fleet(ALPHA or ZETA)
+     * @param from  Current tile index
+     * @param to    Target tile index
+     */
+    public void move(int layer, int from, int to) {
+        remove(layer, from);
+        place(layer, to);
+    }
+
+    /**
+     * Checks if a bit of a layer is set.
+     *
+     * @param layer Layer to check
+     * @param tile  Tile index
+     * @return true if the bit is set, false otherwise.
+     */
+    public boolean test(int layer, int tile) {
+        return test(this.layers[layer], tile);
+    }
+
+    /**
+     * Checks if a tile is occupied by a cover or a ship.
+     *
+     * @param tile Tile index
+     * @return true if tile is not empty, false otherwise.
+     */
+    public boolean isOccupied(int tile) {
+        int word = tile >>> WORD_SHIFT;
+        long bit = 1L << tile;
+        return ((this.layers[COVER_ONE][word] | this.layers[COVER_TWO][word] | this.layers[ALPHA][word]
+                | this.layers[ZETA][word]) & bit) != 0;
+    }
+
+    /**
+     * Checks if a tile is a cover.
+     *
+     * @param tile Tile index
+     * @return true if tile is a cover, false otherwise.
+     */
+    public boolean isCover(int tile) {
+        int word = tile >>> WORD_SHIFT;
+        return ((this.layers[COVER_ONE][word] | this.layers[COVER_TWO][word]) & (1L << tile)) != 0;
+    }
+
+    /**
+     * Gets the cover value of a tile.
+     *
+     * @param tile Tile index
+     * @return cover value, 0 if the tile is not a cover.
+     */
+    public int coverValue(int tile) {
+        if (test(COVER_TWO, tile)) {
+            return 2;
+        }
+        if (test(COVER_ONE, tile)) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets a layer. The returned array is the live mask and must not be modified.
+     *
+     * @param layer Layer to get
+     * @return mask of the layer
+     */
+    public long[] layer(int layer) {
+        return this.layers[layer];
+    }
+
+    /**
+     * Writes the mask of all occupied tiles.
+     *
+     * @param into Mask to write into
+     */
+    public void occupied(long[] into) {
+        for (int i = 0; i < this.words; i++) {
+            into[i] = this.layers[COVER_ONE][i] | this.layers[COVER_TWO][i] | this.layers[ALPHA][i]
+                    | this.layers[ZETA][i];
+        }
+    }
+
+    /**
+     * Writes the mask of all cover tiles.
+     *
+     * @param into Mask to write into
+     */
+    public void covers(long[] into) {
+        for (int i = 0; i < this.words; i++) {
+            into[i] = this.layers[COVER_ONE][i] | this.layers[COVER_TWO][i];
+        }
+    }
+
+    /**
+     * Checks if a free tile with only covers or the board edge as it's direct
+     * neighbors exists.
+     *
+     * @return true if it exists, false otherwise.
+     */
+    public boolean hasEnclosedTile() {
+        long[] covers = new long[this.words];
+        long[] neighbor = new long[this.words];
+        long[] enclosed = new long[this.words];
+        covers(covers);
+
+        for (int i = 0; i < this.words; i++) {
+            enclosed[i] = this.full[i] & ~covers[i];
+        }
+        /*
+         * A tile stays in the mask as long as its neighbor in every direction is a
+         * cover or off the board.
+         */
+        shift(covers, this.length, neighbor);
+        retainBlocked(enclosed, neighbor, this.firstRow);
+        shift(covers, -this.length, neighbor);
+        retainBlocked(enclosed, neighbor, this.lastRow);
+        shift(covers, 1, neighbor);
+        retainBlocked(enclosed, neighbor, this.firstColumn);
+        shift(covers, -1, neighbor);
+        retainBlocked(enclosed, neighbor, this.lastColumn);
+
+        return !isEmpty(enclosed);
+    }
+
+    private void retainBlocked(long[] result, long[] neighbor, long[] edge) {
+        for (int i = 0; i < this.words; i++) {
+            result[i] &= neighbor[i] | edge[i];
+        }
+    }
+
+    /**
+     * Shifts a mask towards higher tile indices. A negative distance shifts
+     * towards lower tile indices. Bits shifted beyond the board are dropped.
+     *
+     * @param source   Mask to shift
+     * @param distance Number of tiles to shift
+     * @param into     Mask to write into
+     */
+    public void shift(long[] source, int distance, long[] into) {
+        int wordShift = Math.abs(distance) >>> WORD_SHIFT;
+        int bitShift = Math.abs(distance) & WORD_MASK;
+        for (int i = 0; i < this.words; i++) {
+            long value;
+            if (distance >= 0) {
+                int from = i - wordShift;
+                long low = from >= 0 ? source[from] : 0;
+                long carry = from - 1 >= 0 && bitShift != 0 ? source[from - 1] >>> (64 - bitShift) : 0;
+                value = (low << bitShift) | carry;
+            } else {
+                int from = i + wordShift;
+                long high = from < this.words ? source[from] : 0;
+                long carry = from + 1 < this.words && bitShift != 0 ? source[from + 1] << (64 - bitShift) : 0;
+                value = (high >>> bitShift) | carry;
+            }
+            into[i] = value & this.full[i];
+        }
+    }
+
+    /**
+     * Checks if a mask is empty.
+     *
+     * @param mask Mask to check
+     * @return true if no bit is set, false otherwise.
+     */
+    public static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the bit of a tile is set in a mask.
+     *
+     * @param mask Mask to check
+     * @param tile Tile index
+     * @return true if the bit is set, false otherwise.
+     */
+    public static boolean test(long[] mask, int tile) {
+        return (mask[tile >>> WORD_SHIFT] & (1L << tile)) != 0;
+    }
+
+    /**
+     * Finds the next set bit of a mask.
+     *
+     * @param mask Mask to search
+     * @param from Tile index to start from
+     * @return tile index of the next set bit, -1 if there is none.
+     */
+    public static int nextTile(long[] mask, int from) {
+        int word = from >>> WORD_SHIFT;
+        if (word >= mask.length) {
+            return -1;
+        }
+        long bits = mask[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == mask.length) {
+                return -1;
+            }
+            bits = mask[word];
+        }
+    }
+
+    /**
+     * Sets the bit of a tile in a mask.
+     *
+     * @param mask Mask to modify
+     * @param tile Tile index
+     */
+    public static void set(long[] mask, int tile) {
+        mask[tile >>> WORD_SHIFT] |= 1L << tile;
+    }
+}
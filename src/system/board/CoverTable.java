@@ -0,0 +1,95 @@
+package system.board;
+
+/**
+ * Precomputed cover values of all tiles. Covers never change after the layout
+ * is configured, so the cover bonus of a target tile only depends on the
+ * quadrant the attacker approaches from. The table holds one value per tile
+ * and quadrant.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class CoverTable {
+    /**
+     * Number of approach quadrants, the sign of the y and x difference each.
+     */
+    public static final int QUADRANTS = 9;
+
+    private final int length;
+    private final byte[] values;
+
+    /**
+     * Creates the cover table of a board.
+     *
+     * @param board Board whose covers are final
+     */
+    public CoverTable(BitBoard board) {
+        this.length = board.getLength();
+        this.values = new byte[board.getSize() * QUADRANTS];
+
+        for (int y = 0; y < this.length; y++) {
+            for (int x = 0; x < this.length; x++) {
+                int tile = board.tile(y, x);
+                for (int signY = -1; signY <= 1; signY++) {
+                    for (int signX = -1; signX <= 1; signX++) {
+                        this.values[tile * QUADRANTS + quadrant(signY, signX)] = (byte) calculate(board, y, x, signY,
+                                signX);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the cover value of a tile. Only the direct neighbors facing the
+     * attacker are relevant, the highest of them counts.
+     */
+    private static int calculate(BitBoard board, int y, int x, int signY, int signX) {
+        int cover = 0;
+        if (signY != 0 && board.onBoard(y + signY, x)) {
+            cover = Math.max(cover, board.coverValue(board.tile(y + signY, x)));
+        }
+        if (signX != 0 && board.onBoard(y, x + signX)) {
+            cover = Math.max(cover, board.coverValue(board.tile(y, x + signX)));
+        }
+        return cover;
+    }
+
+    /**
+     * Calculates the approach quadrant from the signs of the difference between
+     * attacker and target coordinates.
+     *
+     * @param signY Sign of attacker y minus target y
+     * @param signX Sign of attacker x minus target x
+     * @return quadrant
+     */
+    public static int quadrant(int signY, int signX) {
+        return (signY + 1) * 3 + signX + 1;
+    }
+
+    /**
+     * Gets the cover value of a target tile.
+     *
+     * @param target   Tile index of the target
+     * @param quadrant Quadrant the attacker approaches from
+     * @return cover value
+     */
+    public int get(int target, int quadrant) {
+        return this.values[target * QUADRANTS + quadrant];
+    }
+
+    /**
+     * Gets the cover value of a target position attacked from another position.
+     *
+     * @param currentY Coordinate of the attacker on y-axis
+     * @param currentX Coordinate of the attacker on x-axis
+     * @param targetY  Coordinate of the target on y-axis
+     * @param targetX  Coordinate of the target on x-axis
+     * @return cover value
+     */
+    public int get(int currentY, int currentX, int targetY, int targetX) {
+        int quadrant = quadrant(Integer.signum(currentY - targetY), Integer.signum(currentX - targetX));
+        return this.values[(targetY * this.length + targetX) * QUADRANTS + quadrant];
+    }
+}
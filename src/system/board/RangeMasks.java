@@ -0,0 +1,125 @@
+package system.board;
+
+/**
+ * Precomputed masks of the tiles in range of every tile. There is one ring per
+ * action range: strike and ramm reach distance 1, a move reaches distance 1 to
+ * 3 and a longshot reaches distance 5 to 6. The distance is the Manhattan
+ * distance. All targets of a ship in a range are found with one AND of a ring
+ * mask and an occupancy mask.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class RangeMasks {
+    /**
+     * Ring of strike and ramm.
+     */
+    public static final int STRIKE = 0;
+    /**
+     * Ring of ramm, it is the same as the ring of strike.
+     */
+    public static final int RAMM = STRIKE;
+    /**
+     * Ring of move and propel.
+     */
+    public static final int MOVE = 1;
+    /**
+     * Ring of longshot.
+     */
+    public static final int LONGSHOT = 2;
+
+    private static final int[] MIN = { 1, 1, 5 };
+    private static final int[] MAX = { 1, 3, 6 };
+
+    private final BitBoard board;
+    private final int words;
+    private final long[][] rings;
+
+    /**
+     * Creates the range masks of a board.
+     *
+     * @param board Board to create the masks for
+     */
+    public RangeMasks(BitBoard board) {
+        this.board = board;
+        this.words = board.getWords();
+        this.rings = new long[MIN.length][board.getSize() * this.words];
+        int length = board.getLength();
+
+        for (int ring = 0; ring < MIN.length; ring++) {
+            for (int tile = 0; tile < board.getSize(); tile++) {
+                int y = tile / length;
+                int x = tile % length;
+                for (int target = 0; target < board.getSize(); target++) {
+                    int distance = Math.abs(target / length - y) + Math.abs(target % length - x);
+                    if (distance >= MIN[ring] && distance <= MAX[ring]) {
+                        this.rings[ring][tile * this.words + (target >>> 6)] |= 1L << target;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the range masks of a copied board. The masks never change and are
+     * shared with the masks of the original board.
+     *
+     * @param source Range masks of the original board
+     * @param board  Copy of the original board
+     */
+    public RangeMasks(RangeMasks source, BitBoard board) {
+        this.board = board;
+        this.words = source.words;
+        this.rings = source.rings;
+    }
+
+    /**
+     * Checks if a tile is in range of another tile.
+     *
+     * @param ring    Ring of the action
+     * @param current Tile index of the acting ship
+     * @param target  Tile index of the target
+     * @return true if it's in range, false otherwise.
+     */
+    public boolean inRange(int ring, int current, int target) {
+        return (this.rings[ring][current * this.words + (target >>> 6)] & (1L << target)) != 0;
+    }
+
+    /**
+     * Writes all tiles of a mask which are in range of a tile.
+     *
+     * @param ring    Ring of the action
+     * @param current Tile index of the acting ship
+     * @param mask    Mask of candidate tiles, for example a ship layer
+     * @param into    Mask to write into
+     * @return true if at least one tile is in range, false otherwise.
+     */
+    public boolean targets(int ring, int current, long[] mask, long[] into) {
+        long any = 0;
+        int offset = current * this.words;
+        for (int i = 0; i < this.words; i++) {
+            into[i] = this.rings[ring][offset + i] & mask[i];
+            any |= into[i];
+        }
+        return any != 0;
+    }
+
+    /**
+     * Writes all free tiles a ship can move to.
+     *
+     * @param current Tile index of the ship
+     * @param into    Mask to write into
+     * @return true if at least one tile can be reached, false otherwise.
+     */
+    public boolean reachable(int current, long[] into) {
+        this.board.occupied(into);
+        long any = 0;
+        int offset = current * this.words;
+        for (int i = 0; i < this.words; i++) {
+            into[i] = this.rings[MOVE][offset + i] & ~into[i];
+            any |= into[i];
+        }
+        return any != 0;
+    }
+}
@@ -1,8 +1,6 @@
 package system.interaction;
 
 import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import ai.AI;
 import system.AlphaZeta;
@@ -18,33 +16,33 @@ public enum Command {
     /**
      * Runs endTurn() of CommandMethods.
      */
-    ENDTURN("(" + Command.REGEX_ENDTURN + ")") {
+    ENDTURN(Command.SHAPE_KEYWORD, Command.KEYWORD_ENDTURN) {
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
 
-            method.endTurn(matcher, alphaZeta);
+            methods().endTurn(matcher, alphaZeta);
         }
 
     },
     /**
      * Runs help() of CommandMethods.
      */
-    HELP("(" + Command.REGEX_HELP + ")") {
+    HELP(Command.SHAPE_KEYWORD, Command.KEYWORD_HELP) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.help(matcher, alphaZeta);
+            methods().help(matcher, alphaZeta);
         }
 
     },
     /**
      * Runs fleet() of CommandMethods.
      */
-    FLEET("(" + Command.REGEX_FLEET + ")") {
+    FLEET(Command.SHAPE_KEYWORD, Command.KEYWORD_FLEET) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.fleet(matcher, alphaZeta);
+            methods().fleet(matcher, alphaZeta);
 
         }
 
@@ -52,23 +50,22 @@ public enum Command {
     /**
      * Runs move() of CommandMethods.
      */
-    MOVE("(" + Command.REGEX_SHIP + ") (" + Command.REGEX_MOVE + ") (" + Command.REGEX_POSITION + ") ("
-            + Command.REGEX_POSITION + ")") {
+    MOVE(Command.SHAPE_SHIP_KEYWORD_POSITION, Command.KEYWORD_MOVE) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.move(matcher, alphaZeta);
+            methods().move(matcher, alphaZeta);
         }
 
     },
     /**
      * Runs ramm() of CommandMethods.
      */
-    RAMM("(" + Command.REGEX_SHIP + ") (" + Command.REGEX_RAMM + ") (" + Command.REGEX_SHIP + ")") {
+    RAMM(Command.SHAPE_SHIP_KEYWORD_SHIP, Command.KEYWORD_RAMM) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.ramm(matcher, alphaZeta);
+            methods().ramm(matcher, alphaZeta);
             checkGameOver(alphaZeta);
         }
 
@@ -76,11 +73,11 @@ public enum Command {
     /**
      * Runs longshot() of CommandMethods.
      */
-    LONGSHOT("(" + Command.REGEX_SHIP + ") (" + Command.REGEX_LONGSHOT + ") (" + Command.REGEX_SHIP + ")") {
+    LONGSHOT(Command.SHAPE_SHIP_KEYWORD_SHIP, Command.KEYWORD_LONGSHOT) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.longshot(matcher, alphaZeta);
+            methods().longshot(matcher, alphaZeta);
             checkGameOver(alphaZeta);
         }
 
@@ -88,32 +85,31 @@ public enum Command {
     /**
      * Runs strike() of CommandMethods.
      */
-    STRIKE("(" + Command.REGEX_SHIP + ") (" + Command.REGEX_STRIKE + ") (" + Command.REGEX_SHIP + ")") {
+    STRIKE(Command.SHAPE_SHIP_KEYWORD_SHIP, Command.KEYWORD_STRIKE) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.strike(matcher, alphaZeta);
+            methods().strike(matcher, alphaZeta);
             checkGameOver(alphaZeta);
         }
     },
     /**
      * Runs propulsion() of CommandMethods.
      */
-    PROPULSION("(" + Command.REGEX_SHIP + ") (" + Command.REGEX_PROPULSION + ") (" + Command.REGEX_POSITION + ") ("
-            + Command.REGEX_POSITION + ")") {
+    PROPULSION(Command.SHAPE_SHIP_KEYWORD_POSITION, Command.KEYWORD_PROPULSION) {
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.propulsion(matcher, alphaZeta);
+            methods().propulsion(matcher, alphaZeta);
         }
     },
     /**
      * Ends the game.
      */
-    QUIT("(" + Command.REGEX_QUIT + ")") {
+    QUIT(Command.SHAPE_KEYWORD, Command.KEYWORD_QUIT) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            quit();
+            alphaZeta.quit();
 
         }
 
@@ -121,22 +117,22 @@ public enum Command {
     /**
      * Runs board() of CommandMethods.
      */
-    BOARD("(" + Command.REGEX_BOARD + ")") {
+    BOARD(Command.SHAPE_KEYWORD, Command.KEYWORD_BOARD) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.board(matcher, alphaZeta);
+            methods().board(matcher, alphaZeta);
         }
 
     },
     /**
      * Runs actions() of CommandMethods.
      */
-    ACTIONS("(" + Command.REGEX_ACTIONS + ") (" + Command.REGEX_SHIP + ")") {
+    ACTIONS(Command.SHAPE_KEYWORD_SHIP, Command.KEYWORD_ACTIONS) {
 
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.actions(matcher, alphaZeta);
+            methods().actions(matcher, alphaZeta);
 
         }
 
@@ -144,50 +140,61 @@ public enum Command {
     /**
      * Runs mark() of CommandMethods.
      */
-    MARK("(" + Command.REGEX_SHIP + ") (" + Command.REGEX_MARK + ") (" + Command.REGEX_SHIP + ")") {
+    MARK(Command.SHAPE_SHIP_KEYWORD_SHIP, Command.KEYWORD_MARK) {
         @Override
         public void execute(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-            method.mark(matcher, alphaZeta);
+            methods().mark(matcher, alphaZeta);
 
         }
     };
 
     private static final String ERROR_INVALID_COMMAND = "not a valid command";
-    private static final String REGEX_MARK = "mark";
-    private static final String REGEX_ENDTURN = "endturn";
-    private static final String REGEX_HELP = "help";
-    private static final String REGEX_FLEET = "fleet";
-    private static final String REGEX_SHIP = "[abcdzwxy]";
-    private static final String REGEX_MOVE = "move";
-    private static final String REGEX_POSITION = "[\\d]";
-    private static final String REGEX_RAMM = "ramm";
-    private static final String REGEX_LONGSHOT = "longshot";
-    private static final String REGEX_STRIKE = "strike";
-    private static final String REGEX_PROPULSION = "propel";
-    private static final String REGEX_QUIT = "quit";
-    private static final String REGEX_BOARD = "board";
-    private static final String REGEX_ACTIONS = "actions";
+    private static final int SHAPE_NONE = 0;
+    private static final int SHAPE_KEYWORD = 1;
+    private static final int SHAPE_KEYWORD_SHIP = 2;
+    private static final int SHAPE_SHIP_KEYWORD_SHIP = 3;
+    private static final int SHAPE_SHIP_KEYWORD_POSITION = 4;
+    private static final String KEYWORD_MARK = "mark";
+    private static final String KEYWORD_ENDTURN = "endturn";
+    private static final String KEYWORD_HELP = "help";
+    private static final String KEYWORD_FLEET = "fleet";
+    private static final String KEYWORD_MOVE = "move";
+    private static final String KEYWORD_RAMM = "ramm";
+    private static final String KEYWORD_LONGSHOT = "longshot";
+    private static final String KEYWORD_STRIKE = "strike";
+    private static final String KEYWORD_PROPULSION = "propel";
+    private static final String KEYWORD_QUIT = "quit";
+    private static final String KEYWORD_BOARD = "board";
+    private static final String KEYWORD_ACTIONS = "actions";
+    private static final String SHIPS = "abcdzwxy";
     private static final String MESSAGE_WINNER = " won!";
-    private static boolean isRunning = true;
-    private static CommandMethods method = new CommandMethods();
-    private final Pattern pattern;
+    private static final Command[] COMMANDS = values();
+    private static final ThreadLocal<ParsedInput> PARSED = ThreadLocal.withInitial(ParsedInput::new);
+    private static final ThreadLocal<Input> INPUT = ThreadLocal.withInitial(Input::stdin);
+    private static final ThreadLocal<Output> OUTPUT = ThreadLocal.withInitial(() -> new Output(System.out));
+    private static final ThreadLocal<CommandMethods> METHODS = ThreadLocal
+            .withInitial(() -> new CommandMethods(INPUT.get(), OUTPUT.get()));
+    private final int shape;
+    private final String keyword;
 
     /**
-     * Constructs a new command instance.
+     * Constructs a new command instance. A command is recognized by the shape of
+     * its tokens and its keyword.
      *
-     * @param pattern The regex pattern to use for command validation and
-     *                processing.
+     * @param shape   The order of ship, keyword and position tokens.
+     * @param keyword The keyword of the command in lower case.
      */
-    Command(String pattern) {
+    Command(int shape, String keyword) {
 
-        this.pattern = Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
+        this.shape = shape;
+        this.keyword = keyword;
 
     }
 
     /**
      * Executes a command.
      * 
-     * @param matcher   The regex matcher that contains the groups of user input for
+     * @param matcher   The parsed input that contains the groups of user input for
      *                  the command.
      * @param alphaZeta The instance of a system to be manipulated by executing a
      *                  command.
@@ -198,7 +205,8 @@ public enum Command {
 
     /**
      * Checks an input against all available commands and calls the command if one
-     * is found.
+     * is found. The input is split into tokens once, the command is selected by
+     * the shape of the tokens and the keyword token.
      *
      * @param input     The user input.
      * @param alphaZeta The instance of a system to be manipulated by executing a
@@ -208,31 +216,96 @@ public enum Command {
      *                        message.
      */
     public static Command executeMatching(String input, AlphaZeta alphaZeta) throws InputException {
-        for (Command command : Command.values()) {
-            Matcher matcher = command.pattern.matcher(input);
-            if (matcher.matches()) {
-                command.execute(matcher, alphaZeta);
+        ParsedInput parsed = PARSED.get();
+        Command command = match(parsed, input);
+        if (command == null) {
+            throw new InputException(ERROR_INVALID_COMMAND);
+        }
+        command.execute(parsed, alphaZeta);
+        return command;
+    }
+
+    private static Command match(ParsedInput parsed, String input) {
+        if (!parsed.tokenize(input)) {
+            return null;
+        }
+        int shape = shapeOf(parsed);
+        if (shape == SHAPE_NONE) {
+            return null;
+        }
+        int keywordToken = shape == SHAPE_KEYWORD || shape == SHAPE_KEYWORD_SHIP ? 1 : 2;
+        for (Command command : COMMANDS) {
+            if (command.shape == shape && parsed.is(keywordToken, command.keyword)) {
                 return command;
             }
         }
+        return null;
+    }
+
+    private static int shapeOf(ParsedInput parsed) {
+        switch (parsed.groupCount()) {
+        case 1:
+            return SHAPE_KEYWORD;
+        case 2:
+            return isShip(parsed, 2) ? SHAPE_KEYWORD_SHIP : SHAPE_NONE;
+        case 3:
+            return isShip(parsed, 1) && isShip(parsed, 3) ? SHAPE_SHIP_KEYWORD_SHIP : SHAPE_NONE;
+        case 4:
+            return isShip(parsed, 1) && isDigit(parsed, 3) && isDigit(parsed, 4) ? SHAPE_SHIP_KEYWORD_POSITION
+                    : SHAPE_NONE;
+        default:
+            return SHAPE_NONE;
+        }
+    }
+
+    private static boolean isShip(ParsedInput parsed, int token) {
+        return parsed.length(token) == 1 && SHIPS.indexOf(parsed.first(token) | ' ') >= 0;
+    }
 
-        throw new InputException(ERROR_INVALID_COMMAND);
+    private static boolean isDigit(ParsedInput parsed, int token) {
+        char c = parsed.first(token);
+        return parsed.length(token) == 1 && c >= '0' && c <= '9';
     }
 
     /**
-     * To check if the program still is closed.
+     * Gets the line source of the current thread, it defaults to the shared
+     * source of standard input.
      * 
-     * @return true if the program is still running, false otherwise.
+     * @return line source
      */
-    public boolean isRunning() {
-        return isRunning;
+    public static Input input() {
+        return INPUT.get();
     }
 
     /**
-     * Exits the program.
+     * Sets the line source of the current thread. Chosen modules are read from
+     * it by the following commands.
+     * 
+     * @param input Line source
+     */
+    public static void use(Input input) {
+        INPUT.set(input);
+        METHODS.remove();
+    }
+
+    /**
+     * Gets the output sink of the current thread. Commands only buffer their
+     * output, the caller flushes it once per command.
+     * 
+     * @return output sink
+     */
+    public static Output output() {
+        return OUTPUT.get();
+    }
+
+    /**
+     * Gets the command methods of the current thread. They cache the rules engine
+     * of the last game, so every thread has its own instance.
+     * 
+     * @return command methods
      */
-    protected static void quit() {
-        isRunning = false;
+    private static CommandMethods methods() {
+        return METHODS.get();
     }
 
     /**
@@ -243,8 +316,8 @@ public enum Command {
     private static void checkGameOver(AlphaZeta alphaZeta) {
         if (alphaZeta.gameOver()) {
             AI winner = alphaZeta.getWinner();
-            System.out.println(winner.getName() + MESSAGE_WINNER);
-            quit();
+            output().println(winner.getName() + MESSAGE_WINNER);
+            alphaZeta.quit();
         }
     }
 
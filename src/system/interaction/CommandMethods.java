@@ -7,15 +7,14 @@ import java.util.regex.MatchResult;
 
 import ai.AI;
 import ai.Fleet;
-import ai.Position;
 import ai.occupier.Cover;
 import ai.occupier.CoverCheck;
 import ai.occupier.Occupier;
-import ai.occupier.spaceship.Attackership;
 import ai.occupier.spaceship.Spaceship;
 import errorCheck.ErrorCheck;
 import module.Modulus;
 import system.AlphaZeta;
+import system.rules.Action;
 
 /**
  * This class is for shorten the main command class and provides methods for
@@ -41,11 +40,6 @@ public class CommandMethods extends CommandMethodsHelper {
     private static final int ACTION_PARAMETER_ATTACKER = 1;
     private static final int ACTION_PARAMETER_DEFENDER = 3;
 
-    private static final String MESSAGE_MUST_SELECT = " must select ";
-    private static final String ONE = "1 of ";
-    private static final String TWO = "2 of ";
-    private static final String MODULE_SELECT = "s module(s) (separated by comma):\n";
-    private static final String MISSED = "missed";
     private static final String ERROR_SHIP_DESTROYED = "this ship is destroyed.";
 
     private static final int MOVE_PARAMETER_SHIP = 1;
@@ -54,13 +48,15 @@ public class CommandMethods extends CommandMethodsHelper {
 
     private static final int ACTION_PARAMETER_SHIP = 2;
 
-    private static final int LONGSHOT_CRITICAL_MIN = 4;
-    private static final int LONGSHOT_CRITICAL_MAX = 6;
-    private static final int LONGSHOT_NORMAL_MIN = 2;
-    private static final int LONGSHOT_NORMAL_MAX = 3;
-
-    private static final int STRIKE_NORMAL_MIN = 2;
-    private static final int STRIKE_NORMAL_MAX = 4;
+    /**
+     * Creates the command methods of a thread.
+     *
+     * @param input  Source of the chosen modules
+     * @param output Output sink of the commands
+     */
+    public CommandMethods(Input input, Output output) {
+        super(input, output);
+    }
 
     /**
      * Command to end a turn.
@@ -69,8 +65,8 @@ public class CommandMethods extends CommandMethodsHelper {
      * @param alphaZeta The instance of a system to be manipulated
      */
     protected void endTurn(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-        alphaZeta.changeTurn();
-        System.out.println(alphaZeta.getPlaying().getName() + TURN_CHANGE);
+        apply(alphaZeta, Action.endTurn());
+        output().println(alphaZeta.getPlaying().getName() + TURN_CHANGE);
     }
 
     /**
@@ -80,7 +76,7 @@ public class CommandMethods extends CommandMethodsHelper {
      * @param alphaZeta The instance of a system to be manipulated
      */
     protected void help(MatchResult matcher, AlphaZeta alphaZeta) throws InputException {
-        System.out.println(HELP_OUTPUT);
+        output().println(HELP_OUTPUT);
 
     }
 
@@ -104,10 +100,10 @@ public class CommandMethods extends CommandMethodsHelper {
                 fleetZeta = toPrint.getFleet();
             }
         }
-        System.out.println(FLEET_ALPHA);
+        output().println(FLEET_ALPHA);
         printFleet(fleetAlpha);
 
-        System.out.println(FLEET_ZETA);
+        output().println(FLEET_ZETA);
         printFleet(fleetZeta);
 
     }
@@ -125,8 +121,7 @@ public class CommandMethods extends CommandMethodsHelper {
 
         nullCheck(attacker);
         nullCheck(defender);
-        markError(attacker, defender, alphaZeta);
-        alphaZeta.mark((Attackership) defender, attacker);
+        apply(alphaZeta, Action.MARK, attacker, alphaZeta.getShips().ordinal(defender));
 
     }
 
@@ -145,10 +140,8 @@ public class CommandMethods extends CommandMethodsHelper {
         Spaceship toMove = alphaZeta.getShipByName(ship.toUpperCase());
         nullCheck(toMove);
 
-        Position current = toMove.getPosition();
-        Position target = new Position(Integer.valueOf(y), Integer.valueOf(x));
-        moveError(toMove, alphaZeta, target, current);
-        alphaZeta.move(toMove, target.getY(), target.getX());
+        int target = alphaZeta.getBoard().getPositions().pack(Integer.parseInt(y), Integer.parseInt(x));
+        apply(alphaZeta, Action.MOVE, toMove, target);
 
     }
 
@@ -167,10 +160,8 @@ public class CommandMethods extends CommandMethodsHelper {
         Spaceship toMove = alphaZeta.getShipByName(ship.toUpperCase());
         nullCheck(toMove);
 
-        Position current = toMove.getPosition();
-        Position target = new Position(Integer.valueOf(y), Integer.valueOf(x));
-        propelError(toMove, alphaZeta, target, current);
-        alphaZeta.propel(toMove, target.getY(), target.getX());
+        int target = alphaZeta.getBoard().getPositions().pack(Integer.parseInt(y), Integer.parseInt(x));
+        apply(alphaZeta, Action.PROPEL, toMove, target);
     }
 
     /**
@@ -185,26 +176,7 @@ public class CommandMethods extends CommandMethodsHelper {
 
         nullCheck(attacker);
         nullCheck(defender);
-        rammError(attacker, defender, alphaZeta);
-        int dice = alphaZeta.roll();
-        dice = applyBonus(dice, alphaZeta, attacker, defender);
-
-        if (dice <= 1) {
-            if (attacker.getModules().size() > 2) {
-                System.out.println(alphaZeta.getPlaying().getName() + MESSAGE_MUST_SELECT + ONE + attacker.getName()
-                        + MODULE_SELECT + toString(formatModules(attacker.getModules())));
-            }
-            loseOneModule(attacker, alphaZeta);
-        } else if (dice >= 5) {
-            if (defender.getModules().size() > 2) {
-                System.out.println(alphaZeta.getDefender().getName() + MESSAGE_MUST_SELECT + ONE + defender.getName()
-                        + MODULE_SELECT + toString(formatModules(defender.getModules())));
-            }
-            loseOneModule(defender, alphaZeta);
-        } else {
-            System.out.println(MISSED);
-        }
-        alphaZeta.ramm(attacker);
+        apply(alphaZeta, Action.RAMM, attacker, alphaZeta.getShips().ordinal(defender));
 
     }
 
@@ -229,20 +201,10 @@ public class CommandMethods extends CommandMethodsHelper {
             actions.add("RAMM");
 
         } else {
-            List<String> modules = alphaZeta.getPlayables().get(ship.getName());
-            modules.removeIf(n -> (n.equals("SHIELD") || n.equals("CONTAINER")));
-            for (String module : modules) {
-                if (module.equals("ENGINE")) {
-                    actions.add("MOVE");
-                } else if (module.equals("RAMM")) {
-                    actions.add("RAMM");
-                } else {
-                    actions.add(getModule(module).getAction());
-                }
-            }
+            actions = alphaZeta.getPlayables().actionNames(ship.getIndex());
         }
         Collections.sort(actions);
-        System.out.println(availableActions(actions, ship));
+        output().println(availableActions(actions, ship));
 
     }
 
@@ -258,16 +220,16 @@ public class CommandMethods extends CommandMethodsHelper {
 
             for (Occupier occupier : row) {
                 if (occupier == null) {
-                    System.out.print(".");
+                    output().print(".");
                 } else if (check.equals(occupier)) {
                     Cover cover = (Cover) occupier;
-                    System.out.print(cover.getValue());
+                    output().print(cover.getValue());
                 } else {
                     Spaceship ship = (Spaceship) occupier;
-                    System.out.print(ship.getName());
+                    output().print(ship.getName());
                 }
             }
-            System.out.println();
+            output().println();
         }
     }
 
@@ -283,41 +245,7 @@ public class CommandMethods extends CommandMethodsHelper {
 
         nullCheck(attacker);
         nullCheck(defender);
-        ErrorCheck errorCheck = new ErrorCheck();
-        longShotError(attacker, defender, alphaZeta);
-
-        int dice = alphaZeta.roll();
-        dice = applyBonus(dice, alphaZeta, attacker, defender);
-        List<Modulus> modules = defender.getModules();
-        if (defender.isMarked()) {
-            if (modules.size() > 3 && !errorCheck.hasOnlyOneModule(defender)) {
-                criticalHitTwo(defender, alphaZeta);
-            }
-            loseTwoModules(defender, alphaZeta);
-            return;
-        }
-        if (dice >= LONGSHOT_NORMAL_MIN && dice <= LONGSHOT_NORMAL_MAX) {
-            if (modules.size() > 2 && !errorCheck.hasOnlyOneModule(defender)) {
-                System.out.println(alphaZeta.getDefender().getName() + MESSAGE_MUST_SELECT + ONE + defender.getName()
-                        + MODULE_SELECT + toString(formatModules(modules)));
-            }
-            loseOneModule(defender, alphaZeta);
-        } else if (dice >= LONGSHOT_CRITICAL_MIN && dice < LONGSHOT_CRITICAL_MAX) {
-            if (modules.size() > 3 && !errorCheck.hasOnlyOneModule(defender)) {
-                System.out.println(alphaZeta.getDefender().getName() + MESSAGE_MUST_SELECT + TWO + defender.getName()
-                        + MODULE_SELECT + toString(formatModules(modules)));
-            }
-            loseTwoModules(defender, alphaZeta);
-        } else if (dice >= LONGSHOT_CRITICAL_MAX) {
-            if (modules.size() > 3 && !errorCheck.hasOnlyOneModule(defender)) {
-                criticalHitTwo(defender, alphaZeta);
-            }
-            loseTwoModules(defender, alphaZeta);
-        } else {
-            System.out.println(MISSED);
-
-        }
-        alphaZeta.longShot(attacker);
+        apply(alphaZeta, Action.LONGSHOT, attacker, alphaZeta.getShips().ordinal(defender));
 
     }
 
@@ -334,35 +262,7 @@ public class CommandMethods extends CommandMethodsHelper {
         nullCheck(attacker);
         nullCheck(defender);
 
-        ErrorCheck errorCheck = new ErrorCheck();
-
-        strikeError(attacker, defender, alphaZeta);
-
-        int dice = alphaZeta.roll();
-        dice = applyBonus(dice, alphaZeta, attacker, defender);
-        List<Modulus> modules = defender.getModules();
-        if (defender.isMarked()) {
-            if (modules.size() > 2 && !errorCheck.hasOnlyOneModule(defender)) {
-                criticalHitOne(defender, alphaZeta);
-            }
-            loseOneModule(defender, alphaZeta);
-            return;
-        } else if (dice >= STRIKE_NORMAL_MIN && dice < STRIKE_NORMAL_MAX) {
-            if (modules.size() > 2 && !errorCheck.hasOnlyOneModule(defender)) {
-                System.out.println(alphaZeta.getDefender().getName() + MESSAGE_MUST_SELECT + ONE + defender.getName()
-                        + MODULE_SELECT + toString(formatModules(modules)));
-            }
-            loseOneModule(defender, alphaZeta);
-        } else if (dice >= STRIKE_NORMAL_MAX) {
-            if (modules.size() > 2 && !errorCheck.hasOnlyOneModule(defender)) {
-                criticalHitOne(defender, alphaZeta);
-            }
-            loseOneModule(defender, alphaZeta);
-        } else {
-            System.out.println(MISSED);
-
-        }
-        alphaZeta.strike(attacker);
+        apply(alphaZeta, Action.STRIKE, attacker, alphaZeta.getShips().ordinal(defender));
 
     }
 
@@ -371,27 +271,26 @@ public class CommandMethods extends CommandMethodsHelper {
      * 
      * @param fleet Fleet to be printed.
      */
-    private static void printFleet(Fleet fleet) {
+    private void printFleet(Fleet fleet) {
         List<Spaceship> destroyedShipsZeta = new ArrayList<Spaceship>();
         for (Spaceship zeta : fleet.getShips()) {
 
             if (!zeta.isDestroyed()) {
-                List<Modulus> modules = zeta.getModules();
                 String name = zeta.getName();
 
                 if (name.equals("Z") || name.equals("A")) {
 
-                    System.out.println(MARKER_COLLECTOR + name + ":" + toString(modules));
+                    output().println(MARKER_COLLECTOR + name + ":" + toString(zeta, true));
 
                 } else {
-                    System.out.println(MARKER_INTACT + name + ":" + toString(modules));
+                    output().println(MARKER_INTACT + name + ":" + toString(zeta, true));
                 }
             } else {
                 destroyedShipsZeta.add(zeta);
             }
         }
         for (Spaceship destroyed : destroyedShipsZeta) {
-            System.out.println(MARKER_DESTROYED + destroyed.getName());
+            output().println(MARKER_DESTROYED + destroyed.getName());
         }
     }
 
@@ -1,7 +1,5 @@
 package system.interaction;
 
-import java.util.Scanner;
-
 /**
  * This class configures ships and layout.
  * 
@@ -18,6 +16,17 @@ public class Configuration {
     private static final String ASK_LAYOUT = "Enter the Board layout as string:\n"
             + "Use . for free tiles; 1,2 for cover; and A,B,C,D,Z,W,X,Y for ships";
 
+    private final Input input;
+
+    /**
+     * Creates a configuration reading from a line source.
+     *
+     * @param input Source of the configuration lines
+     */
+    public Configuration(Input input) {
+        this.input = input;
+    }
+
     /**
      * Configuration of Spaceship B
      * 
@@ -27,9 +36,8 @@ public class Configuration {
 
         do {
 
-            Scanner scannerB = new Scanner(System.in);
             try {
-                start.configureB(scannerB.nextLine().toUpperCase());
+                start.configureB(this.input.nextLine().toUpperCase());
             } catch (InputException exception) {
                 System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
 
@@ -47,9 +55,8 @@ public class Configuration {
 
         System.out.println(CHOOSE_MODULE + "C" + SEPARATED_BY + SELECTABLE_MODULES);
         do {
-            Scanner scannerC = new Scanner(System.in);
             try {
-                start.configureC(scannerC.nextLine().toUpperCase());
+                start.configureC(this.input.nextLine().toUpperCase());
             } catch (InputException exception) {
                 System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
 
@@ -66,9 +73,8 @@ public class Configuration {
     public void configureD(InitGame start) {
         System.out.println(CHOOSE_MODULE + "D" + SEPARATED_BY + SELECTABLE_MODULES);
         do {
-            Scanner scannerD = new Scanner(System.in);
             try {
-                start.configureD(scannerD.nextLine().toUpperCase());
+                start.configureD(this.input.nextLine().toUpperCase());
             } catch (InputException exception) {
                 System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
 
@@ -85,9 +91,8 @@ public class Configuration {
     public void configureX(InitGame start) {
         System.out.println(CHOOSE_MODULE + "X" + SEPARATED_BY + SELECTABLE_MODULES);
         do {
-            Scanner scannerX = new Scanner(System.in);
             try {
-                start.configureX(scannerX.nextLine().toUpperCase());
+                start.configureX(this.input.nextLine().toUpperCase());
             } catch (InputException exception) {
                 System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
 
@@ -104,9 +109,8 @@ public class Configuration {
     public void configureY(InitGame start) {
         System.out.println(CHOOSE_MODULE + "Y" + SEPARATED_BY + SELECTABLE_MODULES);
         do {
-            Scanner scannerY = new Scanner(System.in);
             try {
-                start.configureY(scannerY.nextLine().toUpperCase());
+                start.configureY(this.input.nextLine().toUpperCase());
             } catch (InputException exception) {
                 System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
 
@@ -123,9 +127,8 @@ public class Configuration {
     public void configureW(InitGame start) {
         System.out.println(ZETA + CONFIGURATION + CHOOSE_MODULE + "W" + SEPARATED_BY + SELECTABLE_MODULES);
         do {
-            Scanner scannerW = new Scanner(System.in);
             try {
-                start.configureW(scannerW.nextLine().toUpperCase());
+                start.configureW(this.input.nextLine().toUpperCase());
             } catch (InputException exception) {
                 System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
 
@@ -145,10 +148,9 @@ public class Configuration {
         System.out.println(ASK_LAYOUT);
 
         do {
-            Scanner scannerLayout = new Scanner(System.in);
 
             try {
-                String layout = scannerLayout.nextLine().toUpperCase();
+                String layout = this.input.nextLine().toUpperCase();
                 start.configureLayout(layout, length);
             } catch (InputException exception) {
 
@@ -0,0 +1,95 @@
+package system.interaction;
+
+import ai.AI;
+import ai.occupier.spaceship.Spaceship;
+import module.ModuleType;
+import module.Modulus;
+import system.rules.ModuleChooser;
+import system.rules.RulesListener;
+
+/**
+ * Connects the rules engine to the console. Events are printed to the output
+ * sink of the command and lost modules are read from the user.
+ * 
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class ConsoleRules implements ModuleChooser, RulesListener {
+    private static final String ERROR_MODULE = "Error, please select a valid module.";
+    private static final String MESSAGE_MUST_SELECT = " must select ";
+    private static final String ONE = "1 of ";
+    private static final String TWO = "2 of ";
+    private static final String MODULE_SELECT = "s module(s) (separated by comma):";
+    private static final String LOOSES = " looses ";
+    private static final String DESTROYED = " was destroyed";
+    private static final String MISSED = "missed";
+
+    private final Input input;
+    private final Output output;
+
+    /**
+     * Creates the console rules.
+     *
+     * @param input  Source of the chosen modules
+     * @param output Output sink of the events, it is flushed before the user is
+     *               asked for a module
+     */
+    public ConsoleRules(Input input, Output output) {
+        this.input = input;
+        this.output = output;
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        while (true) {
+            this.output.flush();
+            String input = this.input.nextLine().toUpperCase();
+            try {
+                Modulus module = CommandMethodsHelper.getModule(input);
+                if (!ship.hasModule(module)) {
+                    throw new InputException("");
+                }
+                return ModuleType.of(module.getName());
+            } catch (InputException exception) {
+                this.output.println(ERROR_MODULE);
+            }
+        }
+    }
+
+    @Override
+    public void rolled(int roll, int bonus) {
+        this.output.println("Roll " + roll);
+        this.output.println("Bonus " + -bonus);
+    }
+
+    @Override
+    public void selecting(AI selecting, Spaceship ship, int count, boolean critical) {
+        String modules = CommandMethodsHelper.toString(ship, false);
+        if (!critical) {
+            this.output.println(selecting.getName() + MESSAGE_MUST_SELECT + (count == 1 ? ONE : TWO) + ship.getName()
+                    + MODULE_SELECT + "\n" + modules);
+        } else if (count == 1) {
+            this.output.println(
+                    selecting.getName() + MESSAGE_MUST_SELECT + ONE + ship.getName() + MODULE_SELECT + modules);
+        } else {
+            this.output.println(
+                    selecting.getName() + MESSAGE_MUST_SELECT + TWO + MODULE_SELECT + ship.getName() + modules);
+        }
+    }
+
+    @Override
+    public void moduleLost(Spaceship ship, int type) {
+        this.output.println(ship.getName() + LOOSES + ModuleType.nameOf(type));
+    }
+
+    @Override
+    public void shipDestroyed(Spaceship ship) {
+        this.output.println(ship.getName() + DESTROYED);
+    }
+
+    @Override
+    public void missed() {
+        this.output.println(MISSED);
+    }
+}
@@ -0,0 +1,230 @@
+package system.interaction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import system.AlphaZeta;
+import system.Dice;
+
+/**
+ * Declarative setup of a game: seed, board length, number of containers,
+ * layout and the loadouts of B, C, D, W, X and Y. It replaces the prompts of
+ * the interactive configuration. A setup is validated once when it is created
+ * and keeps the configured game as a template, every new game is a copy of the
+ * template with its own dice, so module names and the layout are never parsed
+ * again.
+ * <p>
+ * The descriptor of a setup is one line of whitespace separated fields in the
+ * order seed length containers layout B C D W X Y, the loadouts are comma
+ * separated module names like in the interactive game. In a setup file lines
+ * starting with # are comments.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class GameSetup {
+    /**
+     * Number of configurable attackerships.
+     */
+    public static final int LOADOUTS = 6;
+
+    private static final String ERROR_FIELDS = "a setup needs seed, length, containers, layout and 6 loadouts.";
+    private static final String ERROR_NUMBER = "not a number: ";
+    private static final String PARAMETER_NOT_VALID = "given parameters are not valid.";
+    private static final String COMMENT = "#";
+    private static final String SEPARATOR = " ";
+    private static final String WHITESPACE = "\\s+";
+    private static final int FIELDS = 4 + LOADOUTS;
+    private static final int FIELD_LAYOUT = 3;
+    private static final int MIN_LENGTH = 5;
+    private static final int MAX_CONTAINERS = 3;
+
+    private final int seed;
+    private final int length;
+    private final int containers;
+    private final String layout;
+    private final String[] loadouts;
+    private final AlphaZeta template;
+    private final String descriptor;
+
+    private GameSetup(int seed, int length, int containers, String layout, String[] loadouts, AlphaZeta template) {
+        this.seed = seed;
+        this.length = length;
+        this.containers = containers;
+        this.layout = layout;
+        this.loadouts = loadouts;
+        this.template = template;
+        this.descriptor = seed + SEPARATOR + length + SEPARATOR + containers + SEPARATOR + layout + SEPARATOR
+                + String.join(SEPARATOR, loadouts);
+    }
+
+    /**
+     * Creates and validates a setup.
+     *
+     * @param seed       Seed of the dice of create()
+     * @param length     Length of the board
+     * @param containers Number of containers of the collectors
+     * @param layout     Layout of the board
+     * @param loadouts   Modules of B, C, D, W, X and Y, comma separated
+     * @return setup
+     * @throws InputException if the setup is not valid
+     */
+    public static GameSetup of(int seed, int length, int containers, String layout, String[] loadouts)
+            throws InputException {
+        if (length < MIN_LENGTH || length % 2 == 0 || containers < 0 || containers > MAX_CONTAINERS
+                || loadouts.length != LOADOUTS) {
+            throw new InputException(PARAMETER_NOT_VALID);
+        }
+        String[] copied = new String[LOADOUTS];
+        for (int i = 0; i < LOADOUTS; i++) {
+            copied[i] = loadouts[i].toUpperCase();
+        }
+        String upperLayout = layout.toUpperCase();
+
+        AlphaZeta game = new AlphaZeta();
+        InitGame start = new InitGame(game, seed);
+        start.configureA(containers);
+        start.configureZ(containers);
+        start.configureB(copied[0]);
+        start.configureC(copied[1]);
+        start.configureD(copied[2]);
+        start.configureW(copied[3]);
+        start.configureX(copied[4]);
+        start.configureY(copied[5]);
+        start.configureLayout(upperLayout, length);
+        start.initGame();
+        game.startNewTurn();
+        return new GameSetup(seed, length, containers, upperLayout, copied, game);
+    }
+
+    /**
+     * Parses and validates the descriptor of a setup.
+     *
+     * @param descriptor Fields of the setup separated by whitespace
+     * @return setup
+     * @throws InputException if the descriptor or the setup is not valid
+     */
+    public static GameSetup parse(String descriptor) throws InputException {
+        String[] fields = descriptor.trim().split(WHITESPACE);
+        if (fields.length != FIELDS) {
+            throw new InputException(ERROR_FIELDS);
+        }
+        String[] loadouts = new String[LOADOUTS];
+        System.arraycopy(fields, FIELD_LAYOUT + 1, loadouts, 0, LOADOUTS);
+        return of(number(fields[0]), number(fields[1]), number(fields[2]), fields[FIELD_LAYOUT], loadouts);
+    }
+
+    /**
+     * Loads and validates a setup file.
+     *
+     * @param file Path of the setup file
+     * @return setup
+     * @throws IOException    if the file cannot be read
+     * @throws InputException if the setup is not valid
+     */
+    public static GameSetup load(Path file) throws IOException, InputException {
+        List<String> lines = new ArrayList<String>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.trim().startsWith(COMMENT)) {
+                lines.add(line);
+            }
+        }
+        return parse(String.join(SEPARATOR, lines));
+    }
+
+    /**
+     * Parses a numeric field of a setup or a command line.
+     *
+     * @param field Text of the field
+     * @return number
+     * @throws InputException if the field is not a number
+     */
+    public static int number(String field) throws InputException {
+        try {
+            return Integer.parseInt(field);
+        } catch (NumberFormatException exception) {
+            throw new InputException(ERROR_NUMBER + field);
+        }
+    }
+
+    /**
+     * Creates a new game whose dice are seeded with the seed of the setup, like
+     * an interactive game. Its first turn is started.
+     *
+     * @return game
+     */
+    public AlphaZeta create() {
+        return this.template.copy(new Dice(this.seed));
+    }
+
+    /**
+     * Creates a new game and starts its first turn.
+     *
+     * @param dice Random generator of the dice, used by this game only
+     * @return game
+     */
+    public AlphaZeta create(RandomGenerator dice) {
+        return this.template.copy(dice);
+    }
+
+    /**
+     * Gets the seed of the dice.
+     *
+     * @return seed
+     */
+    public int getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gets the length of the board.
+     *
+     * @return length
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Gets the number of containers of the collectors.
+     *
+     * @return containers
+     */
+    public int getContainers() {
+        return this.containers;
+    }
+
+    /**
+     * Gets the layout of the board.
+     *
+     * @return layout
+     */
+    public String getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Gets the loadout of an attackership.
+     *
+     * @param index Index of B, C, D, W, X or Y from 0 to 5
+     * @return comma separated module names
+     */
+    public String getLoadout(int index) {
+        return this.loadouts[index];
+    }
+
+    /**
+     * Gets the descriptor of the setup, parse() reads it back.
+     *
+     * @return descriptor
+     */
+    @Override
+    public String toString() {
+        return this.descriptor;
+    }
+}
@@ -2,10 +2,11 @@ package system.interaction;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 import ai.AI;
 import ai.Fleet;
-import ai.Position;
+import ai.PositionCache;
 import ai.occupier.Cover;
 import ai.occupier.Occupier;
 import ai.occupier.spaceship.Attackership;
@@ -13,6 +14,8 @@ import ai.occupier.spaceship.Collector;
 import ai.occupier.spaceship.Spaceship;
 import module.Modulus;
 import system.AlphaZeta;
+import system.Dice;
+import system.board.BitBoard;
 
 /**
  * This class configures the game depending on user inputs.
@@ -49,7 +52,7 @@ public class InitGame extends InitGameCheck {
     private static final String BOARD_SHOULD_MATCH = "the length of the board should match the "
             + "parameter for board length given in the beginning.";
 
-    private final int seed;
+    private final RandomGenerator random;
 
     private String sensorShipAlpha = null;
     private String sensorShipZeta = null;
@@ -76,6 +79,7 @@ public class InitGame extends InitGameCheck {
     private Spaceship z;
 
     private Occupier[][] matchField;
+    private BitBoard bitBoard;
     private boolean matchFieldConfigured = false;
 
     private AlphaZeta alphaZeta;
@@ -87,7 +91,17 @@ public class InitGame extends InitGameCheck {
      * @param seed
      */
     public InitGame(AlphaZeta alphaZeta, int seed) {
-        this.seed = seed;
+        this(alphaZeta, new Dice(seed));
+    }
+
+    /**
+     * Creates new InitGame whose game rolls the dice with the given generator.
+     * 
+     * @param alphaZeta
+     * @param random    Random generator of the dice, used by this game only
+     */
+    public InitGame(AlphaZeta alphaZeta, RandomGenerator random) {
+        this.random = random;
         this.alphaZeta = alphaZeta;
     }
 
@@ -256,6 +270,8 @@ public class InitGame extends InitGameCheck {
         layoutInputError(layout, length);
         int seed = (int) Math.sqrt(layout.length());
         Occupier[][] board = new Occupier[seed][seed];
+        BitBoard bits = new BitBoard(seed);
+        PositionCache positions = bits.getPositions();
         String input = layout;
         int[] check = new int[NUMBERSHIPS];
 
@@ -264,54 +280,65 @@ public class InitGame extends InitGameCheck {
             for (int x = 0; x < board[y].length; x++) {
                 String toAdd = String.valueOf(input.charAt(0));
                 input = input.substring(1, input.length());
+                int tile = bits.tile(y, x);
                 switch (toAdd) {
                 case "1":
-                    row[x] = new Cover(1, new Position(y, x));
+                    row[x] = new Cover(1, positions.get(y, x));
+                    bits.setCover(tile, 1);
                     break;
                 case "2":
-                    row[x] = new Cover(2, new Position(y, x));
+                    row[x] = new Cover(2, positions.get(y, x));
+                    bits.setCover(tile, 2);
                     break;
                 case "A":
-                    this.a.setPosition(y, x);
+                    this.a.setPosition(positions.get(y, x));
                     row[x] = this.a;
+                    bits.place(BitBoard.ALPHA, tile);
                     check[POS_A]++;
                     break;
                 case "Z":
-                    this.z.setPosition(y, x);
+                    this.z.setPosition(positions.get(y, x));
                     row[x] = this.z;
+                    bits.place(BitBoard.ZETA, tile);
                     check[POS_Z]++;
                     break;
                 case POINT:
                     row[x] = null;
                     break;
                 case "B":
-                    this.b.setPosition(y, x);
+                    this.b.setPosition(positions.get(y, x));
                     row[x] = this.b;
+                    bits.place(BitBoard.ALPHA, tile);
                     check[POS_B]++;
                     break;
                 case "C":
-                    this.c.setPosition(y, x);
+                    this.c.setPosition(positions.get(y, x));
                     row[x] = this.c;
+                    bits.place(BitBoard.ALPHA, tile);
                     check[POS_C]++;
                     break;
                 case "D":
-                    this.d.setPosition(y, x);
+                    this.d.setPosition(positions.get(y, x));
                     row[x] = this.d;
+                    bits.place(BitBoard.ALPHA, tile);
                     check[POS_D]++;
                     break;
                 case "W":
-                    this.w.setPosition(y, x);
+                    this.w.setPosition(positions.get(y, x));
                     row[x] = this.w;
+                    bits.place(BitBoard.ZETA, tile);
                     check[POS_W]++;
                     break;
                 case "X":
-                    this.x.setPosition(y, x);
+                    this.x.setPosition(positions.get(y, x));
                     row[x] = this.x;
+                    bits.place(BitBoard.ZETA, tile);
                     check[POS_X]++;
                     break;
                 case "Y":
-                    this.y.setPosition(y, x);
+                    this.y.setPosition(positions.get(y, x));
                     row[x] = this.y;
+                    bits.place(BitBoard.ZETA, tile);
                     check[POS_Y]++;
                     break;
                 default:
@@ -320,13 +347,14 @@ public class InitGame extends InitGameCheck {
             }
             board[y] = row;
         }
-        layoutError(board);
+        layoutError(board, bits);
         for (int i : check) {
             if (i != 1) {
                 throw new InputException(SHIP_PLACE);
             }
         }
         this.matchField = board;
+        this.bitBoard = bits;
         this.matchFieldConfigured = true;
     }
 
@@ -344,7 +372,7 @@ public class InitGame extends InitGameCheck {
         AI alpha = new AI("Alpha", alphaFleet);
         AI zeta = new AI("Zeta", zetaFleet);
 
-        this.alphaZeta.init(matchField, alpha, zeta, seed);
+        this.alphaZeta.init(matchField, bitBoard, alpha, zeta, this.random);
     }
 
     /**
@@ -425,12 +453,12 @@ public class InitGame extends InitGameCheck {
         }
     }
 
-    private void layoutError(Occupier[][] board) throws InputException {
+    private void layoutError(Occupier[][] board, BitBoard bits) throws InputException {
         if (!isSymmetrical(board)) {
             throw new InputException(NOT_SYMMETRICAL);
         }
 
-        if (occupiedByCovers(board)) {
+        if (occupiedByCovers(bits)) {
             throw new InputException(TILE_NEIGHBOR);
         }
     }
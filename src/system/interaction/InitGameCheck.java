@@ -14,6 +14,7 @@ import module.assault.Sword;
 import module.support.Propulsion;
 import module.support.Sensor;
 import module.support.Shield;
+import system.board.BitBoard;
 
 /**
  * Provides useful methods to apply rules to game.
@@ -26,63 +27,16 @@ public class InitGameCheck {
     private static final String MODULE_SEPARATOR = ",";
     private static final String MAX_MODULE_NUMBER = "You can select maximum 3 modules.";
     private static final String ERROR_INVALID_INPUT = "invalid input.";
-    private static final int NUM_INVALID_NEIGHBOR = 4;
-    private static final int NEIGHBORS = 4;
 
     /**
      * Checks if a tile with only covers as it's direct neighbors exists on the
-     * gameboard.
+     * gameboard. Tiles outside of the board count as cover neighbors.
      * 
      * @param board
      * @return true if it exists, false otherwise.
      */
-    protected boolean occupiedByCovers(Occupier[][] board) {
-        int length = board.length;
-
-        int offSetX[] = { 0, 1, 0, -1 };
-        int offSetY[] = { -1, 0, 1, 0 };
-
-        for (int y = 0; y < length; y++) {
-            for (int x = 0; x < length; x++) {
-                if (!equals(board[y][x])) {
-                    int check = 0;
-                    check = checkNeighbors(x, y, offSetX, offSetY, board, check);
-                    if (check == NUM_INVALID_NEIGHBOR) {
-                        return true;
-                    }
-                }
-            }
-        }
-
-        return false;
-
-    }
-
-    /**
-     * Checks direct neighbors to find it a tile has only cover-neighbors.
-     * 
-     * @param x       Coordinate on x-axis
-     * @param y       Coordinate on y-axis
-     * @param offSetX neighbor calculation array for x
-     * @param offSetY neighbor calculation array for y
-     * @param board   game board
-     * @param check   number of cover neighbors(when the index is out of bounds, it
-     *                will count as a cover neighbor)
-     * @return check
-     */
-    public int checkNeighbors(int x, int y, int[] offSetX, int[] offSetY, Occupier[][] board, int check) {
-        int count = check;
-        int length = board.length;
-        for (int i = 0; i < NEIGHBORS; i++) {
-            int nx = x + offSetX[i];
-            int ny = y + offSetY[i];
-            if (nx < 0 || ny >= length || ny < 0 || nx >= length || equals(board[ny][nx])) {
-                count++;
-
-            }
-
-        }
-        return count;
+    protected boolean occupiedByCovers(BitBoard board) {
+        return board.hasEnclosedTile();
     }
 
     /**
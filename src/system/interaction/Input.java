@@ -0,0 +1,99 @@
+package system.interaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * Line source of the game. One buffered reader over standard input or a script
+ * file feeds the configuration, the commands and the chosen modules in the
+ * order they are asked for, so no line is lost to the buffer of another
+ * reader. A script file is a recorded session and is replayed at full speed.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class Input implements AutoCloseable {
+    private static final String ERROR_NO_LINE = "No line found";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader reader;
+
+    /**
+     * Creates a source reading lines from a reader.
+     *
+     * @param reader Reader of the lines
+     */
+    public Input(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Gets the source reading from standard input. There is only one, so every
+     * thread reads through the same buffer and no line is swallowed by a second
+     * reader.
+     *
+     * @return line source
+     */
+    public static Input stdin() {
+        return Stdin.INPUT;
+    }
+
+    /**
+     * Creates a source replaying a script file through a channel.
+     *
+     * @param script Path of the script file
+     * @return line source
+     * @throws IOException if the file cannot be opened
+     */
+    public static Input of(Path script) throws IOException {
+        return new Input(new BufferedReader(
+                Channels.newReader(Files.newByteChannel(script), Charset.defaultCharset()), BUFFER_SIZE));
+    }
+
+    /**
+     * Reads the next line like Scanner.nextLine().
+     *
+     * @return line without its line separator
+     * @throws NoSuchElementException if the input has ended
+     */
+    public String nextLine() {
+        String line;
+        try {
+            line = this.reader.readLine();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        if (line == null) {
+            throw new NoSuchElementException(ERROR_NO_LINE);
+        }
+        return line;
+    }
+
+    /**
+     * Closes the reader.
+     */
+    @Override
+    public void close() {
+        try {
+            this.reader.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Holds the source of standard input, it is created on first use.
+     */
+    private static final class Stdin {
+        private static final Input INPUT = new Input(
+                new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()), BUFFER_SIZE));
+    }
+}
@@ -1,6 +1,7 @@
 package system.interaction;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 import system.AlphaZeta;
 
@@ -16,6 +17,9 @@ public final class Main {
     private static final String ERROR_MESSAGE_PREFIX = "Error, ";
     private static final String FIRST_TURN = "Alpha's turn";
     private static final String PARAMETER_NOT_VALID = "given parameters are not valid.";
+    private static final String FILE_NOT_READABLE = "file cannot be read: ";
+    private static final int ARGUMENT_SCRIPT = 3;
+    private static final int SETUP_ARGUMENTS = 2;
 
     /**
      * Constructs a new instance of Main.
@@ -28,12 +32,34 @@ public final class Main {
     }
 
     /**
-     * Main entry point to the app.
+     * Main entry point to the app. Arguments are seed, board length, containers
+     * and an optional script file, or a setup file and an optional script file.
+     * Without a setup the ships and the layout are configured interactively.
+     * Without a script the game is read from standard input, a script holds the
+     * lines of a recorded session and is replayed at full speed.
      * 
      * @param args The arguments that are passed to the program at launch as array.
      * @throws InputException
      */
     public static void main(String[] args) throws InputException {
+        if (args.length <= SETUP_ARGUMENTS) {
+            GameSetup setup;
+            try {
+                setup = GameSetup.load(Paths.get(args[0]));
+            } catch (IOException exception) {
+                System.out.println(ERROR_MESSAGE_PREFIX + FILE_NOT_READABLE + args[0]);
+                return;
+            } catch (InputException exception) {
+                System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+                return;
+            }
+            Input input = open(args, 1);
+            if (input != null) {
+                play(setup.create(), input);
+            }
+            return;
+        }
+
         int seed = Integer.valueOf(args[0]);
         int length = Integer.valueOf(args[1]);
         int container = Integer.valueOf(args[2]);
@@ -41,12 +67,16 @@ public final class Main {
             System.out.println(ERROR_MESSAGE_PREFIX + PARAMETER_NOT_VALID);
             return;
         }
+        Input input = open(args, ARGUMENT_SCRIPT);
+        if (input == null) {
+            return;
+        }
 
         AlphaZeta alphaZeta = new AlphaZeta();
         InitGame start = new InitGame(alphaZeta, seed);
         System.out.println(start.welcomeMessage(container));
 
-        Configuration configuration = new Configuration();
+        Configuration configuration = new Configuration(input);
         configuration.configureB(start);
         configuration.configureC(start);
         configuration.configureD(start);
@@ -57,18 +87,43 @@ public final class Main {
         start.initGame();
         alphaZeta = start.getGame();
         alphaZeta.startNewTurn();
+        play(alphaZeta, input);
+    }
+
+    /**
+     * Opens the script of the arguments or standard input if there is none.
+     * 
+     * @return line source or null if the script cannot be read
+     */
+    private static Input open(String[] args, int index) {
+        if (args.length <= index) {
+            return Input.stdin();
+        }
+        try {
+            return Input.of(Paths.get(args[index]));
+        } catch (IOException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + FILE_NOT_READABLE + args[index]);
+            return null;
+        }
+    }
+
+    /**
+     * Executes commands until the game ends.
+     */
+    private static void play(AlphaZeta alphaZeta, Input input) {
+        Command.use(input);
         System.out.println(FIRST_TURN);
-        Command command = null;
+        Output output = Command.output();
         do {
-            Scanner scanner = new Scanner(System.in);
             try {
-                String input = scanner.nextLine();
-                command = Command.executeMatching(input, alphaZeta);
+                Command.executeMatching(input.nextLine(), alphaZeta);
 
             } catch (InputException exception) {
-                System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+                output.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+            } finally {
+                output.flush();
             }
-        } while (command == null || command.isRunning());
+        } while (alphaZeta.isRunning());
 
     }
 
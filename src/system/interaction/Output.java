@@ -0,0 +1,116 @@
+package system.interaction;
+
+import java.io.PrintStream;
+
+/**
+ * Output sink of the command layer. Everything a command prints is collected
+ * in a reusable buffer and written to the stream in one call when the command
+ * is flushed. A discarding sink drops all output without building it, which
+ * suits headless runs.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class Output {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final PrintStream stream;
+    private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+    private boolean discarding;
+
+    /**
+     * Creates a sink writing to a stream.
+     *
+     * @param stream Stream to flush to
+     */
+    public Output(PrintStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Sets if the sink drops all output. Buffered output is dropped as well.
+     *
+     * @param discarding true to drop all output, false to write it
+     */
+    public void setDiscarding(boolean discarding) {
+        this.discarding = discarding;
+        this.buffer.setLength(0);
+    }
+
+    /**
+     * Checks if the sink drops all output.
+     *
+     * @return true if the sink drops all output, false otherwise.
+     */
+    public boolean isDiscarding() {
+        return this.discarding;
+    }
+
+    /**
+     * Appends a text.
+     *
+     * @param text Text to print
+     */
+    public void print(String text) {
+        if (!this.discarding) {
+            this.buffer.append(text);
+        }
+    }
+
+    /**
+     * Appends a character.
+     *
+     * @param character Character to print
+     */
+    public void print(char character) {
+        if (!this.discarding) {
+            this.buffer.append(character);
+        }
+    }
+
+    /**
+     * Appends a number.
+     *
+     * @param number Number to print
+     */
+    public void print(int number) {
+        if (!this.discarding) {
+            this.buffer.append(number);
+        }
+    }
+
+    /**
+     * Appends a text and ends the line.
+     *
+     * @param text Text to print
+     */
+    public void println(String text) {
+        if (!this.discarding) {
+            this.buffer.append(text).append(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Ends the line.
+     */
+    public void println() {
+        if (!this.discarding) {
+            this.buffer.append(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Writes the buffered output to the stream in one call and clears the
+     * buffer. Nothing is written if the buffer is empty.
+     */
+    public void flush() {
+        if (this.buffer.length() == 0) {
+            return;
+        }
+        this.stream.append(this.buffer);
+        this.stream.flush();
+        this.buffer.setLength(0);
+    }
+}
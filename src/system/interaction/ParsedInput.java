@@ -0,0 +1,141 @@
+package system.interaction;
+
+import java.util.regex.MatchResult;
+
+/**
+ * Groups of a parsed command. Group 0 is the whole input and every token of the
+ * command is one group, so the groups are numbered the same way as the groups
+ * of the former command patterns. An instance is reused for every input.
+ * 
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+final class ParsedInput implements MatchResult {
+    /**
+     * Maximum number of tokens of a command.
+     */
+    static final int MAX_TOKENS = 4;
+
+    private static final String ERROR_NO_MATCH = "No match available";
+
+    private final int[] starts = new int[MAX_TOKENS + 1];
+    private final int[] ends = new int[MAX_TOKENS + 1];
+    private String input;
+    private int tokens;
+
+    /**
+     * Splits an input into tokens separated by a single space each.
+     * 
+     * @param input Input to split
+     * @return true if the input has 1 to MAX_TOKENS non-empty tokens, false
+     *         otherwise.
+     */
+    boolean tokenize(String input) {
+        this.input = input;
+        this.tokens = 0;
+        this.starts[0] = 0;
+        this.ends[0] = input.length();
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            if (i == input.length() || input.charAt(i) == ' ') {
+                if (i == start || this.tokens == MAX_TOKENS) {
+                    return false;
+                }
+                this.tokens++;
+                this.starts[this.tokens] = start;
+                this.ends[this.tokens] = i;
+                start = i + 1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the first character of a token.
+     * 
+     * @param token Number of the token, starting at 1
+     * @return first character
+     */
+    char first(int token) {
+        return this.input.charAt(this.starts[token]);
+    }
+
+    /**
+     * Gets the length of a token.
+     * 
+     * @param token Number of the token, starting at 1
+     * @return length
+     */
+    int length(int token) {
+        return this.ends[token] - this.starts[token];
+    }
+
+    /**
+     * Checks if a token equals a lower case keyword. Only ASCII letters are
+     * compared case-insensitively.
+     * 
+     * @param token   Number of the token, starting at 1
+     * @param keyword Keyword in lower case
+     * @return true if the token is the keyword, false otherwise.
+     */
+    boolean is(int token, String keyword) {
+        if (length(token) != keyword.length()) {
+            return false;
+        }
+        int offset = this.starts[token];
+        for (int i = 0; i < keyword.length(); i++) {
+            if ((this.input.charAt(offset + i) | ' ') != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int start() {
+        return start(0);
+    }
+
+    @Override
+    public int start(int group) {
+        check(group);
+        return this.starts[group];
+    }
+
+    @Override
+    public int end() {
+        return end(0);
+    }
+
+    @Override
+    public int end(int group) {
+        check(group);
+        return this.ends[group];
+    }
+
+    @Override
+    public String group() {
+        return group(0);
+    }
+
+    @Override
+    public String group(int group) {
+        check(group);
+        return this.input.substring(this.starts[group], this.ends[group]);
+    }
+
+    @Override
+    public int groupCount() {
+        return this.tokens;
+    }
+
+    private void check(int group) {
+        if (this.input == null) {
+            throw new IllegalStateException(ERROR_NO_MATCH);
+        }
+        if (group < 0 || group > this.tokens) {
+            throw new IndexOutOfBoundsException(group);
+        }
+    }
+}
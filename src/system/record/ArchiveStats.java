@@ -0,0 +1,125 @@
+package system.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+import system.AlphaZeta;
+import system.interaction.GameSetup;
+import system.interaction.InputException;
+import system.rules.RulesListener;
+
+/**
+ * Entry point for the analysis of a record archive. Every game is replayed by
+ * parallel scan threads straight from the mapped archive, the report holds the
+ * win rates, the average number of actions and the replay throughput. Damaged
+ * records are counted and skipped.
+ * <p>
+ * Arguments: archive [threads]. The number of threads defaults to the number
+ * of processors.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ */
+public final class ArchiveStats {
+    private static final String ERROR_UTILITY_CLASS_INSTANTIATION = "Utility class cannot be instantiated.";
+    private static final String ERROR_MESSAGE_PREFIX = "Error, ";
+    private static final String PARAMETER_NOT_VALID = "given parameters are not valid.";
+    private static final String USAGE = "usage: archive [threads]";
+    private static final int ARGUMENT_THREADS = 1;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double PERCENT = 100.0;
+
+    private ArchiveStats() {
+        throw new IllegalStateException(ERROR_UTILITY_CLASS_INSTANTIATION);
+    }
+
+    /**
+     * Main entry point of the analysis.
+     *
+     * @param args The arguments that are passed to the program at launch as array.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        int threads;
+        try {
+            threads = args.length > ARGUMENT_THREADS ? GameSetup.number(args[ARGUMENT_THREADS])
+                    : Runtime.getRuntime().availableProcessors();
+        } catch (InputException exception) {
+            threads = 0;
+        }
+        if (threads < 1) {
+            System.out.println(ERROR_MESSAGE_PREFIX + PARAMETER_NOT_VALID);
+            return;
+        }
+        try (ReplayArchive archive = new ReplayArchive(Paths.get(args[0]))) {
+            long start = System.nanoTime();
+            List<Counter> counters = archive.scan(threads, Counter::new);
+            long elapsed = System.nanoTime() - start;
+
+            long games = archive.getGames();
+            long actions = 0;
+            long alphaWins = 0;
+            long zetaWins = 0;
+            long damaged = 0;
+            for (Counter counter : counters) {
+                actions += counter.actions;
+                alphaWins += counter.alphaWins;
+                zetaWins += counter.zetaWins;
+                damaged += counter.damaged;
+            }
+            System.out.println("Games: " + games);
+            System.out.println(format("Actions per second: %.0f", actions * NANOS_PER_SECOND / Math.max(1, elapsed)));
+            System.out.println(format("Alpha wins: %.2f%%", alphaWins * PERCENT / Math.max(1, games)));
+            System.out.println(format("Zeta wins: %.2f%%", zetaWins * PERCENT / Math.max(1, games)));
+            System.out.println(format("Average actions: %.2f", (double) actions / Math.max(1, games)));
+            if (damaged > 0) {
+                System.out.println("Damaged records: " + damaged);
+            }
+        } catch (IOException | IllegalStateException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+        }
+    }
+
+    private static String format(String format, double value) {
+        return String.format(Locale.ROOT, format, value);
+    }
+
+    /**
+     * Replays the games of one scan thread. The setup of the previous game is
+     * reused, so a setup is only parsed when it changes.
+     */
+    private static final class Counter implements ReplayArchive.RecordVisitor {
+        private GameSetup setup;
+        private long actions;
+        private long alphaWins;
+        private long zetaWins;
+        private long damaged;
+
+        @Override
+        public void visit(long game, ByteBuffer record) {
+            GameReplayer replayer;
+            try {
+                replayer = new GameReplayer(record, this.setup, RulesListener.SILENT);
+                this.setup = replayer.getSetup();
+                this.actions += replayer.replay();
+            } catch (IOException | InputException exception) {
+                this.damaged++;
+                return;
+            }
+            AlphaZeta replayed = replayer.getGame();
+            if (replayed.gameOver()) {
+                if (replayed.getWinner() == replayed.getAlpha()) {
+                    this.alphaWins++;
+                } else {
+                    this.zetaWins++;
+                }
+            }
+        }
+    }
+}
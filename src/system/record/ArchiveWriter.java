@@ -0,0 +1,122 @@
+package system.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends game records to an archive. The data file holds the records back to
+ * back, the index file holds the end offset of every record as a long. A record
+ * is written before its index entry, so an interrupted append leaves data
+ * without an entry, which is cut off when the archive is opened again. Data is
+ * only cut off behind the last entry of an index, a file without an index is
+ * not an archive and is never changed. Appending is thread-safe.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class ArchiveWriter implements Closeable {
+    private static final String ERROR_NO_INDEX = "file has no archive index: ";
+    private static final String ERROR_INDEX = "index does not match the archive: ";
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private final ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+    private long end;
+    private long games;
+
+    /**
+     * Opens an archive for appending, it is created if it does not exist.
+     *
+     * @param file Path of the data file, the index file has the suffix .idx
+     * @throws IOException if the archive cannot be opened, or the file is not
+     *                     empty and has no index or an index behind its data
+     */
+    public ArchiveWriter(Path file) throws IOException {
+        Path indexFile = ReplayArchive.indexOf(file);
+        this.data = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (this.data.size() > 0 && !Files.exists(indexFile)) {
+            this.data.close();
+            throw new IOException(ERROR_NO_INDEX + file);
+        }
+        try {
+            this.index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException exception) {
+            this.data.close();
+            throw exception;
+        }
+        try {
+            recover(file);
+        } catch (IOException exception) {
+            close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Cuts off a torn append. A partial index entry is dropped and the data is
+     * cut back to the end of the last entry, or to nothing if the index has no
+     * entry, unless the index points behind the data.
+     */
+    private void recover(Path file) throws IOException {
+        this.games = this.index.size() / Long.BYTES;
+        if (this.games > 0) {
+            this.index.read(this.entry, (this.games - 1) * Long.BYTES);
+            this.end = this.entry.getLong(0);
+        }
+        if (this.end < 0 || this.end > this.data.size()) {
+            throw new IOException(ERROR_INDEX + file);
+        }
+        this.index.truncate(this.games * Long.BYTES);
+        this.data.truncate(this.end);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record Record from its position to its limit
+     * @return number of the game in the archive, starting at 0
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized long append(ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            this.end += this.data.write(record, this.end);
+        }
+        this.entry.clear();
+        this.entry.putLong(0, this.end);
+        while (this.entry.hasRemaining()) {
+            this.index.write(this.entry, this.games * Long.BYTES + this.entry.position());
+        }
+        return this.games++;
+    }
+
+    /**
+     * Gets the number of games in the archive.
+     *
+     * @return games
+     */
+    public synchronized long getGames() {
+        return this.games;
+    }
+
+    /**
+     * Closes the files of the archive.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            this.data.close();
+        } finally {
+            this.index.close();
+        }
+    }
+}
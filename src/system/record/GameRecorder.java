@@ -0,0 +1,168 @@
+package system.record;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import ai.AI;
+import ai.occupier.spaceship.Spaceship;
+import system.AlphaZeta;
+import system.interaction.GameSetup;
+import system.rules.ModuleChooser;
+import system.rules.RulesListener;
+
+/**
+ * Streaming writer of a binary game record. It is attached to a rules engine as
+ * its module chooser and listener and forwards both to the real ones.
+ * <p>
+ * A record starts with the magic number, the setup descriptor, the seed of the
+ * game and the state of the dice. The seed identifies the game, for example
+ * within a simulator run, the dice state alone is enough to replay it. Every
+ * applied action follows as a varint, directly followed by the modules chosen
+ * while it was applied. Rejected actions are not recorded, the record ends
+ * with the stream. A move takes two bytes and a choice one byte.
+ * <p>
+ * The game must not have rolled its dice before the recorder is created and
+ * rolls must not be forced while recording.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class GameRecorder implements ModuleChooser, RulesListener, Flushable, AutoCloseable {
+    /**
+     * First bytes of every record, "AZR2".
+     */
+    static final int MAGIC = 0x415A5232;
+
+    private static final int MAGIC_BYTES = 4;
+    private static final int BYTE_BITS = 8;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CHOICES = 2;
+    private static final int MAX_STEP_BYTES = (1 + MAX_CHOICES) * Varint.MAX_BYTES;
+
+    private final OutputStream out;
+    private final ModuleChooser chooser;
+    private final RulesListener listener;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final int[] choices = new int[MAX_CHOICES];
+    private int length;
+    private int count;
+    private long actions;
+
+    /**
+     * Creates a recorder and writes the header of the record.
+     *
+     * @param out      Stream of the record
+     * @param setup    Setup the game was created from
+     * @param seed     Seed of the game
+     * @param game     Game to record, its dice have not been rolled yet
+     * @param chooser  Chooser of lost modules
+     * @param listener Listener of the events
+     * @throws IOException if the header cannot be written
+     */
+    public GameRecorder(OutputStream out, GameSetup setup, int seed, AlphaZeta game, ModuleChooser chooser,
+            RulesListener listener) throws IOException {
+        this.out = out;
+        this.chooser = chooser;
+        this.listener = listener;
+        byte[] descriptor = setup.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[MAGIC_BYTES + 3 * Varint.MAX_BYTES + descriptor.length];
+        for (int i = 0; i < MAGIC_BYTES; i++) {
+            header[i] = (byte) (MAGIC >>> (BYTE_BITS * (MAGIC_BYTES - 1 - i)));
+        }
+        int position = Varint.write(header, MAGIC_BYTES, descriptor.length);
+        System.arraycopy(descriptor, 0, header, position, descriptor.length);
+        position = Varint.write(header, position + descriptor.length, Integer.toUnsignedLong(seed));
+        position = Varint.write(header, position, game.getDiceState());
+        out.write(header, 0, position);
+    }
+
+    /**
+     * Gets the number of recorded actions.
+     *
+     * @return actions
+     */
+    public long getActions() {
+        return this.actions;
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        int type = this.chooser.choose(ship);
+        this.choices[this.count++] = type;
+        return type;
+    }
+
+    @Override
+    public void rolled(int roll, int bonus) {
+        this.listener.rolled(roll, bonus);
+    }
+
+    @Override
+    public void selecting(AI selecting, Spaceship ship, int count, boolean critical) {
+        this.listener.selecting(selecting, ship, count, critical);
+    }
+
+    @Override
+    public void moduleLost(Spaceship ship, int type) {
+        this.listener.moduleLost(ship, type);
+    }
+
+    @Override
+    public void shipDestroyed(Spaceship ship) {
+        this.listener.shipDestroyed(ship);
+    }
+
+    @Override
+    public void missed() {
+        this.listener.missed();
+    }
+
+    @Override
+    public void applied(int action) {
+        if (this.length + MAX_STEP_BYTES > BUFFER_SIZE) {
+            try {
+                drain();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        this.length = Varint.write(this.buffer, this.length, action);
+        for (int i = 0; i < this.count; i++) {
+            this.length = Varint.write(this.buffer, this.length, this.choices[i]);
+        }
+        this.count = 0;
+        this.actions++;
+        this.listener.applied(action);
+    }
+
+    /**
+     * Writes the buffered actions to the stream and flushes it.
+     *
+     * @throws IOException if the stream fails
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        this.out.flush();
+    }
+
+    /**
+     * Flushes and closes the stream.
+     *
+     * @throws IOException if the stream fails
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        this.out.close();
+    }
+
+    private void drain() throws IOException {
+        this.out.write(this.buffer, 0, this.length);
+        this.length = 0;
+    }
+}
@@ -0,0 +1,242 @@
+package system.record;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import ai.occupier.spaceship.Spaceship;
+import module.ModuleType;
+import system.AlphaZeta;
+import system.Dice;
+import system.interaction.GameSetup;
+import system.interaction.InputException;
+import system.rules.ActionResult;
+import system.rules.ModuleChooser;
+import system.rules.RulesEngine;
+import system.rules.RulesListener;
+
+/**
+ * Rebuilds a recorded game step by step. The game is created from the setup
+ * and the dice state of the record, every step applies the next action with
+ * the rules engine and takes the lost modules from the record. The record is
+ * decoded in place from a byte buffer, which may be a slice of a mapped file.
+ * Parsing a setup costs far more than replaying a game, so a known setup is
+ * reused when the record has the same descriptor.
+ * <p>
+ * A damaged record is reported as an IOException. Every action is validated
+ * by the rules engine and every chosen module is checked against the ship
+ * before it is removed, after such an error the game is no longer usable.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class GameReplayer implements ModuleChooser {
+    private static final String ERROR_NOT_A_RECORD = "not a game record.";
+    private static final String ERROR_TRUNCATED = "record is truncated.";
+    private static final String ERROR_INVALID_ACTION = "record contains an invalid action: ";
+    private static final String ERROR_INVALID_CHOICE = "record contains an invalid module choice: ";
+    private static final String ERROR_INVALID_NUMBER = "record contains an invalid number.";
+
+    private final ByteBuffer record;
+    private final GameSetup setup;
+    private final int seed;
+    private final AlphaZeta game;
+    private final RulesEngine rules;
+    private int action;
+    private long steps;
+
+    /**
+     * Reads the header of a record and creates its game.
+     *
+     * @param record Record from its position to its limit, the position is
+     *               advanced while replaying
+     * @throws IOException    if the buffer does not hold a record
+     * @throws InputException if the setup of the record is not valid
+     */
+    public GameReplayer(ByteBuffer record) throws IOException, InputException {
+        this(record, null, RulesListener.SILENT);
+    }
+
+    /**
+     * Reads the header of a record and creates its game.
+     *
+     * @param record   Record from its position to its limit, the position is
+     *                 advanced while replaying
+     * @param known    Setup to reuse if the record has its descriptor, may be
+     *                 null
+     * @param listener Listener of the events of the replayed actions
+     * @throws IOException    if the buffer does not hold a record
+     * @throws InputException if the setup of the record is not valid
+     */
+    public GameReplayer(ByteBuffer record, GameSetup known, RulesListener listener)
+            throws IOException, InputException {
+        this.record = record;
+        try {
+            if (record.getInt() != GameRecorder.MAGIC) {
+                throw new IOException(ERROR_NOT_A_RECORD);
+            }
+            long length = Varint.read(record);
+            if (length < 0 || length > record.remaining()) {
+                throw new IOException(ERROR_TRUNCATED);
+            }
+            if (known != null && matches(record, (int) length, known.toString())) {
+                this.setup = known;
+                record.position(record.position() + (int) length);
+            } else {
+                byte[] descriptor = new byte[(int) length];
+                record.get(descriptor);
+                this.setup = GameSetup.parse(new String(descriptor, StandardCharsets.US_ASCII));
+            }
+            this.seed = (int) Varint.read(record);
+            Dice dice = new Dice(0);
+            dice.setState(Varint.read(record));
+            this.game = this.setup.create(dice);
+        } catch (BufferUnderflowException exception) {
+            throw new IOException(ERROR_TRUNCATED, exception);
+        } catch (IllegalArgumentException exception) {
+            throw new IOException(ERROR_INVALID_NUMBER, exception);
+        }
+        this.rules = new RulesEngine(this.game, this, listener);
+    }
+
+    private static boolean matches(ByteBuffer record, int length, String descriptor) {
+        if (descriptor.length() != length || record.remaining() < length) {
+            return false;
+        }
+        int position = record.position();
+        for (int i = 0; i < length; i++) {
+            if (record.get(position + i) != descriptor.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a whole record from a stream.
+     *
+     * @param in Stream of the record
+     * @return replayer at the start of the game
+     * @throws IOException    if the stream fails or does not hold a record
+     * @throws InputException if the setup of the record is not valid
+     */
+    public static GameReplayer read(InputStream in) throws IOException, InputException {
+        return new GameReplayer(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    /**
+     * Applies the next recorded action.
+     *
+     * @return true if an action was applied, false at the end of the record
+     * @throws IOException if the record is truncated, its action is rejected or
+     *                     a chosen module is not valid
+     */
+    public boolean step() throws IOException {
+        if (!this.record.hasRemaining()) {
+            return false;
+        }
+        long value = next();
+        if (value != (int) value) {
+            throw new IOException(ERROR_INVALID_ACTION + value);
+        }
+        this.action = (int) value;
+        try {
+            if (this.rules.apply(this.action).getError() != ActionResult.OK) {
+                throw new IOException(ERROR_INVALID_ACTION + this.action);
+            }
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        this.steps++;
+        return true;
+    }
+
+    /**
+     * Applies all remaining actions.
+     *
+     * @return number of applied actions of the whole replay
+     * @throws IOException if the record is truncated or an action is rejected
+     */
+    public long replay() throws IOException {
+        while (step()) {
+            continue;
+        }
+        return this.steps;
+    }
+
+    /**
+     * Reads the next module of the record. An invalid module is thrown as an
+     * UncheckedIOException, step() reports its cause.
+     */
+    @Override
+    public int choose(Spaceship ship) {
+        try {
+            long type = next();
+            if (type <= ModuleType.ENGINE || type >= ModuleType.CONTAINER || !ship.hasModule((int) type)) {
+                throw new IOException(ERROR_INVALID_CHOICE + type);
+            }
+            return (int) type;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private long next() throws IOException {
+        try {
+            return Varint.read(this.record);
+        } catch (BufferUnderflowException exception) {
+            throw new IOException(ERROR_TRUNCATED, exception);
+        } catch (IllegalArgumentException exception) {
+            throw new IOException(ERROR_INVALID_NUMBER, exception);
+        }
+    }
+
+    /**
+     * Gets the setup of the record.
+     *
+     * @return setup
+     */
+    public GameSetup getSetup() {
+        return this.setup;
+    }
+
+    /**
+     * Gets the seed of the recorded game.
+     *
+     * @return seed
+     */
+    public int getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gets the replayed game.
+     *
+     * @return game
+     */
+    public AlphaZeta getGame() {
+        return this.game;
+    }
+
+    /**
+     * Gets the last applied action.
+     *
+     * @return packed action
+     */
+    public int getAction() {
+        return this.action;
+    }
+
+    /**
+     * Gets the number of applied actions.
+     *
+     * @return steps
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+}
@@ -0,0 +1,212 @@
+package system.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Read-only view of an archive written by ArchiveWriter. The index and the data
+ * are memory-mapped, so the archive is not loaded onto the heap. The data is
+ * mapped in segments of up to 1 GiB which never split a record, so game N is
+ * found with the index in constant time and a binary search over the few
+ * segments. Records are handed out as read-only slices of the mapping and are
+ * decoded in place.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class ReplayArchive implements AutoCloseable {
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String ERROR_RECORD_TOO_LARGE = "record is larger than a segment: ";
+    private static final String ERROR_NO_GAME = "no such game: ";
+    private static final String ERROR_SCAN_FAILED = "scan failed.";
+    private static final String ERROR_SCAN_INTERRUPTED = "scan was interrupted.";
+    private static final long MAX_SEGMENT = 1L << 30;
+
+    private final FileChannel data;
+    private final FileChannel indexFile;
+    private final ByteBuffer index;
+    private final long games;
+    private final long[] segmentStart;
+    private final long[] segmentFirstGame;
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Visits the records of a scan. Every scan thread has its own visitor.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * Visits a record.
+         *
+         * @param game   Number of the game
+         * @param record Read-only record, only valid during the call
+         * @throws Exception if the record cannot be processed
+         */
+        void visit(long game, ByteBuffer record) throws Exception;
+    }
+
+    /**
+     * Opens an archive.
+     *
+     * @param file Path of the data file, the index file has the suffix .idx
+     * @throws IOException if the archive cannot be read
+     */
+    public ReplayArchive(Path file) throws IOException {
+        this.data = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.indexFile = FileChannel.open(indexOf(file), StandardOpenOption.READ);
+        } catch (IOException exception) {
+            this.data.close();
+            throw exception;
+        }
+        this.games = this.indexFile.size() / Long.BYTES;
+        this.index = this.indexFile.map(FileChannel.MapMode.READ_ONLY, 0, this.games * Long.BYTES);
+
+        List<Long> starts = new ArrayList<Long>();
+        List<Long> firsts = new ArrayList<Long>();
+        long base = 0;
+        starts.add(base);
+        firsts.add(0L);
+        for (long game = 0; game < this.games; game++) {
+            long start = start(game);
+            long end = end(game);
+            if (end - start > MAX_SEGMENT) {
+                throw new IOException(ERROR_RECORD_TOO_LARGE + game);
+            }
+            if (end - base > MAX_SEGMENT) {
+                base = start;
+                starts.add(base);
+                firsts.add(game);
+            }
+        }
+        int count = starts.size();
+        this.segmentStart = new long[count];
+        this.segmentFirstGame = new long[count];
+        this.segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            this.segmentStart[i] = starts.get(i);
+            this.segmentFirstGame[i] = firsts.get(i);
+        }
+        for (int i = 0; i < count; i++) {
+            long from = this.segmentStart[i];
+            long limit = i + 1 < count ? this.segmentStart[i + 1] : start(this.games);
+            this.segments[i] = this.data.map(FileChannel.MapMode.READ_ONLY, from, limit - from);
+        }
+    }
+
+    /**
+     * Gets the path of the index file of an archive.
+     *
+     * @param file Path of the data file
+     * @return path of the index file
+     */
+    static Path indexOf(Path file) {
+        return file.resolveSibling(file.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * Gets the number of games in the archive.
+     *
+     * @return games
+     */
+    public long getGames() {
+        return this.games;
+    }
+
+    /**
+     * Gets the record of a game without copying it.
+     *
+     * @param game Number of the game, starting at 0
+     * @return read-only record from position 0 to its limit
+     */
+    public ByteBuffer record(long game) {
+        if (game < 0 || game >= this.games) {
+            throw new IndexOutOfBoundsException(ERROR_NO_GAME + game);
+        }
+        int segment = Arrays.binarySearch(this.segmentFirstGame, game);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        long start = start(game);
+        int offset = (int) (start - this.segmentStart[segment]);
+        return this.segments[segment].slice(offset, (int) (end(game) - start));
+    }
+
+    /**
+     * Visits all records in parallel. The games are split into one contiguous
+     * range per thread, which is read sequentially.
+     *
+     * @param <V>      Type of the visitors
+     * @param threads  Number of scan threads
+     * @param visitors Creates the visitor of a thread
+     * @return visitors of the threads in the order of their ranges
+     * @throws IllegalStateException if a visitor fails or the scan is
+     *                               interrupted, the scan threads are stopped
+     */
+    public <V extends RecordVisitor> List<V> scan(int threads, Supplier<V> visitors) {
+        List<V> created = new ArrayList<V>();
+        List<Callable<Void>> ranges = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < threads; i++) {
+            V visitor = visitors.get();
+            long from = this.games * i / threads;
+            long to = this.games * (i + 1) / threads;
+            created.add(visitor);
+            ranges.add(() -> {
+                for (long game = from; game < to; game++) {
+                    visitor.visit(game, record(game));
+                }
+                return null;
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Void> done : pool.invokeAll(ranges)) {
+                done.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ERROR_SCAN_INTERRUPTED, exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(ERROR_SCAN_FAILED, exception.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return created;
+    }
+
+    /**
+     * Closes the files of the archive. Records must not be used afterwards.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.data.close();
+        } finally {
+            this.indexFile.close();
+        }
+    }
+
+    private long start(long game) {
+        return game == 0 ? 0 : end(game - 1);
+    }
+
+    private long end(long game) {
+        return this.index.getLong((int) (game * Long.BYTES));
+    }
+}
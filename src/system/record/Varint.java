@@ -0,0 +1,68 @@
+package system.record;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable length encoding of unsigned numbers, 7 bits per byte with the
+ * lowest group first. The highest bit of a byte is set if another byte
+ * follows, so numbers below 128 take one byte.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+final class Varint {
+    /**
+     * Maximum number of bytes of an encoded long.
+     */
+    static final int MAX_BYTES = 10;
+
+    private static final String ERROR_UTILITY_CLASS_INSTANTIATION = "Utility class cannot be instantiated.";
+    private static final String ERROR_TOO_LONG = "varint is too long.";
+    private static final int BITS = 7;
+    private static final int LOW_BITS = 0x7F;
+    private static final int MORE = 0x80;
+
+    private Varint() {
+        throw new IllegalStateException(ERROR_UTILITY_CLASS_INSTANTIATION);
+    }
+
+    /**
+     * Writes a number into a buffer, the buffer needs room for MAX_BYTES.
+     *
+     * @param buffer Buffer to write to
+     * @param offset Offset of the first byte
+     * @param value  Number, negative numbers take MAX_BYTES
+     * @return offset after the last byte
+     */
+    static int write(byte[] buffer, int offset, long value) {
+        int position = offset;
+        long rest = value;
+        while ((rest & ~LOW_BITS) != 0) {
+            buffer[position++] = (byte) ((rest & LOW_BITS) | MORE);
+            rest >>>= BITS;
+        }
+        buffer[position++] = (byte) rest;
+        return position;
+    }
+
+    /**
+     * Reads a number from the position of a buffer.
+     *
+     * @param buffer Buffer to read from, its position is advanced
+     * @return number
+     * @throws java.nio.BufferUnderflowException if the buffer ends within the
+     *                                           number
+     */
+    static long read(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < MAX_BYTES * BITS; shift += BITS) {
+            byte next = buffer.get();
+            value |= (long) (next & LOW_BITS) << shift;
+            if ((next & MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException(ERROR_TOO_LONG);
+    }
+}
@@ -0,0 +1,129 @@
+package system.rules;
+
+/**
+ * Actions of the rules engine packed into a single integer. The lowest 4 bits
+ * hold the kind, the next 4 bits the ordinal of the acting ship and the
+ * remaining bits the target. The target is the ordinal of a ship for attacks
+ * and marks and the packed coordinate of a tile for moves.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class Action {
+    /**
+     * Ends the turn of the attacking AI.
+     */
+    public static final int END_TURN = 0;
+    /**
+     * Moves a ship with its engine.
+     */
+    public static final int MOVE = 1;
+    /**
+     * Moves a ship with its propulsion.
+     */
+    public static final int PROPEL = 2;
+    /**
+     * Ramms an enemy ship.
+     */
+    public static final int RAMM = 3;
+    /**
+     * Fires the rail gun at an enemy ship.
+     */
+    public static final int LONGSHOT = 4;
+    /**
+     * Strikes an enemy ship with a sword.
+     */
+    public static final int STRIKE = 5;
+    /**
+     * Marks an enemy ship with the sensor.
+     */
+    public static final int MARK = 6;
+    /**
+     * Number of action kinds.
+     */
+    public static final int KINDS = 7;
+
+    private static final String ERROR_UTILITY_CLASS_INSTANTIATION = "Utility class cannot be instantiated.";
+    private static final int KIND_MASK = 0xF;
+    private static final int ACTOR_SHIFT = 4;
+    private static final int ACTOR_MASK = 0xF;
+    private static final int TARGET_SHIFT = 8;
+
+    private Action() {
+        throw new IllegalStateException(ERROR_UTILITY_CLASS_INSTANTIATION);
+    }
+
+    /**
+     * Packs an action.
+     *
+     * @param kind   Kind of the action
+     * @param actor  Ordinal of the acting ship
+     * @param target Ordinal of the target ship or packed coordinate of the target
+     *               tile
+     * @return packed action
+     */
+    public static int of(int kind, int actor, int target) {
+        return kind | (actor << ACTOR_SHIFT) | (target << TARGET_SHIFT);
+    }
+
+    /**
+     * Gets the action which ends the turn.
+     *
+     * @return packed action
+     */
+    public static int endTurn() {
+        return END_TURN;
+    }
+
+    /**
+     * Gets the kind of an action.
+     *
+     * @param action Packed action
+     * @return kind
+     */
+    public static int kind(int action) {
+        return action & KIND_MASK;
+    }
+
+    /**
+     * Gets the ordinal of the acting ship of an action.
+     *
+     * @param action Packed action
+     * @return ship ordinal
+     */
+    public static int actor(int action) {
+        return (action >>> ACTOR_SHIFT) & ACTOR_MASK;
+    }
+
+    /**
+     * Gets the target of an action. It keeps the sign, so a target outside of the
+     * board stays PositionCache.OFF_BOARD.
+     *
+     * @param action Packed action
+     * @return ship ordinal or packed coordinate
+     */
+    public static int target(int action) {
+        return action >> TARGET_SHIFT;
+    }
+
+    /**
+     * Checks if an action targets a tile.
+     *
+     * @param kind Kind of the action
+     * @return true if the target is a tile, false otherwise.
+     */
+    public static boolean isMove(int kind) {
+        return kind == MOVE || kind == PROPEL;
+    }
+
+    /**
+     * Checks if an action rolls a dice against an enemy ship.
+     *
+     * @param kind Kind of the action
+     * @return true if the action is an attack, false otherwise.
+     */
+    public static boolean isAttack(int kind) {
+        return kind == RAMM || kind == LONGSHOT || kind == STRIKE;
+    }
+}
@@ -0,0 +1,227 @@
+package system.rules;
+
+import java.util.Arrays;
+
+import ai.AI;
+
+/**
+ * Outcome of an action applied by the rules engine. The engine reuses one
+ * result for every action, it is valid until the next action is applied.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class ActionResult {
+    /**
+     * The action was applied.
+     */
+    public static final int OK = 0;
+    /**
+     * The acting ship does not belong to the attacking AI.
+     */
+    public static final int FALSE_TURN = 1;
+    /**
+     * The acting ship cannot play the action in this turn.
+     */
+    public static final int NOT_EXECUTABLE = 2;
+    /**
+     * The target is not in range.
+     */
+    public static final int NOT_IN_RANGE = 3;
+    /**
+     * The target tile is not empty.
+     */
+    public static final int TILE_NOT_EMPTY = 4;
+    /**
+     * The acting or the target ship is destroyed.
+     */
+    public static final int SHIP_DESTROYED = 5;
+    /**
+     * A collector cannot be rammed.
+     */
+    public static final int RAMM_COLLECTOR = 6;
+    /**
+     * The target ship belongs to the attacking AI.
+     */
+    public static final int SAME_FLEET = 7;
+    /**
+     * A collector cannot be marked.
+     */
+    public static final int MARK_COLLECTOR = 8;
+    /**
+     * Number of result codes.
+     */
+    public static final int CODES = 9;
+
+    private static final int NO_ROLL = 0;
+    private static final int INITIAL_LOSSES = 4;
+
+    private int action;
+    private int error;
+    private int roll;
+    private int bonus;
+    private boolean missed;
+    private int[] lostShips = new int[INITIAL_LOSSES];
+    private int[] lostTypes = new int[INITIAL_LOSSES];
+    private int lost;
+    private int destroyed;
+    private AI winner;
+
+    /**
+     * Clears the result for a new action.
+     *
+     * @param action Packed action
+     */
+    void reset(int action) {
+        this.action = action;
+        this.error = OK;
+        this.roll = NO_ROLL;
+        this.bonus = 0;
+        this.missed = false;
+        this.lost = 0;
+        this.destroyed = 0;
+        this.winner = null;
+    }
+
+    void setError(int error) {
+        this.error = error;
+    }
+
+    void setRoll(int roll, int bonus) {
+        this.roll = roll;
+        this.bonus = bonus;
+    }
+
+    void setMissed() {
+        this.missed = true;
+    }
+
+    void addLost(int ship, int type) {
+        if (this.lost == this.lostShips.length) {
+            this.lostShips = Arrays.copyOf(this.lostShips, this.lost * 2);
+            this.lostTypes = Arrays.copyOf(this.lostTypes, this.lost * 2);
+        }
+        this.lostShips[this.lost] = ship;
+        this.lostTypes[this.lost] = type;
+        this.lost++;
+    }
+
+    void addDestroyed(int ship) {
+        this.destroyed |= 1 << ship;
+    }
+
+    void setWinner(AI winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * Gets the applied action.
+     *
+     * @return packed action
+     */
+    public int getAction() {
+        return action;
+    }
+
+    /**
+     * Gets the result code. Nothing was changed unless it is OK.
+     *
+     * @return result code
+     */
+    public int getError() {
+        return error;
+    }
+
+    /**
+     * Checks if the action was applied.
+     *
+     * @return true if the action was applied, false otherwise.
+     */
+    public boolean isApplied() {
+        return error == OK;
+    }
+
+    /**
+     * Gets the rolled dice of an attack.
+     *
+     * @return dice, 0 if no dice was rolled
+     */
+    public int getRoll() {
+        return roll;
+    }
+
+    /**
+     * Gets the cover and shield bonus of the defender of an attack.
+     *
+     * @return bonus
+     */
+    public int getBonus() {
+        return bonus;
+    }
+
+    /**
+     * Checks if an attack missed.
+     *
+     * @return true if the attack missed, false otherwise.
+     */
+    public boolean isMissed() {
+        return missed;
+    }
+
+    /**
+     * Gets the number of lost modules.
+     *
+     * @return number of lost modules
+     */
+    public int getLostCount() {
+        return lost;
+    }
+
+    /**
+     * Gets the ordinal of the ship which lost a module.
+     *
+     * @param index Index of the loss
+     * @return ship ordinal
+     */
+    public int getLostShip(int index) {
+        return lostShips[index];
+    }
+
+    /**
+     * Gets the code of a lost module.
+     *
+     * @param index Index of the loss
+     * @return module code
+     */
+    public int getLostType(int index) {
+        return lostTypes[index];
+    }
+
+    /**
+     * Gets the destroyed ships, bit n stands for the ship with ordinal n.
+     *
+     * @return ship mask
+     */
+    public int getDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Checks if the game is over after the action.
+     *
+     * @return true if an AI has lost, false otherwise.
+     */
+    public boolean isGameOver() {
+        return winner != null;
+    }
+
+    /**
+     * Gets the winner of the game.
+     *
+     * @return winner AI, null if the game is not over
+     */
+    public AI getWinner() {
+        return winner;
+    }
+}
@@ -0,0 +1,102 @@
+package system.rules;
+
+import ai.FleetState;
+import ai.ShipIndex;
+import ai.occupier.spaceship.Spaceship;
+
+/**
+ * Exact odds of ramms, longshots and strikes. The number of faces of every
+ * damage is precomputed for each kind, bonus and marked state with the
+ * thresholds of the rules engine. A query only looks up the faces and applies
+ * the module count of the losing ship, so it takes constant time and does not
+ * allocate. The dice is not rolled and the game is not changed.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class CombatOdds {
+    private static final int FACES = 6;
+    private static final int KINDS = Action.STRIKE - Action.RAMM + 1;
+    private static final int BONUSES = FACES + 1;
+    private static final int DAMAGES = 4;
+    private static final int LOWEST_DAMAGE = -1;
+    private static final int[] FACE_COUNTS = new int[KINDS * BONUSES * 2 * DAMAGES];
+
+    static {
+        for (int kind = Action.RAMM; kind <= Action.STRIKE; kind++) {
+            for (int bonus = 0; bonus < BONUSES; bonus++) {
+                for (int marked = 0; marked < 2; marked++) {
+                    for (int face = 1; face <= FACES; face++) {
+                        int damage = RulesEngine.damage(kind, face - bonus, marked == 1);
+                        FACE_COUNTS[index(kind, bonus, marked == 1) + damage - LOWEST_DAMAGE]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private final RulesEngine rules;
+    private final ShipIndex ships;
+    private final Odds odds = new Odds();
+
+    /**
+     * Creates a calculator for the game of a rules engine.
+     *
+     * @param rules Rules engine of the game
+     */
+    public CombatOdds(RulesEngine rules) {
+        this.rules = rules;
+        this.ships = rules.getGame().getShips();
+    }
+
+    /**
+     * Calculates the odds of an attack. The attack is not validated, its cover,
+     * shield and marked state are those of the current game.
+     *
+     * @param action Packed ramm, longshot or strike
+     * @return odds, they are valid until the next query
+     */
+    public Odds of(int action) {
+        Spaceship attacker = this.ships.getShip(Action.actor(action));
+        Spaceship defender = this.ships.getShip(Action.target(action));
+        return of(Action.kind(action), this.rules.bonus(attacker, defender), defender.isMarked(),
+                attacker.getModuleCount(), isCollector(attacker), defender.getModuleCount(), isCollector(defender));
+    }
+
+    /**
+     * Calculates the odds of an attack from its parameters.
+     *
+     * @param kind              RAMM, LONGSHOT or STRIKE
+     * @param bonus             Cover and shield bonus of the defender
+     * @param marked            true if the defender is marked
+     * @param attackerModules   Module count of the attacker
+     * @param attackerCollector true if the attacker is a collector
+     * @param defenderModules   Module count of the defender
+     * @param defenderCollector true if the defender is a collector
+     * @return odds, they are valid until the next query
+     */
+    public Odds of(int kind, int bonus, boolean marked, int attackerModules, boolean attackerCollector,
+            int defenderModules, boolean defenderCollector) {
+        int index = index(kind, Math.min(Math.max(bonus, 0), FACES), marked);
+        Odds result = this.odds;
+        result.reset();
+        result.miss(probability(index, 0));
+        result.attackerHit(probability(index, -1), attackerModules <= 1, attackerCollector);
+        result.defenderHit(probability(index, 1), 1, defenderModules, defenderCollector);
+        result.defenderHit(probability(index, 2), 2, defenderModules, defenderCollector);
+        return result;
+    }
+
+    private static double probability(int index, int damage) {
+        return (double) FACE_COUNTS[index + damage - LOWEST_DAMAGE] / FACES;
+    }
+
+    private static int index(int kind, int bonus, boolean marked) {
+        return (((kind - Action.RAMM) * BONUSES + bonus) * 2 + (marked ? 1 : 0)) * DAMAGES;
+    }
+
+    private static boolean isCollector(Spaceship ship) {
+        return ship.getIndex() == FleetState.COLLECTOR;
+    }
+}
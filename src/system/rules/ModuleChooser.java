@@ -0,0 +1,21 @@
+package system.rules;
+
+import ai.occupier.spaceship.Spaceship;
+
+/**
+ * Chooses which module a ship loses when the rules leave the choice to a
+ * player.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public interface ModuleChooser {
+    /**
+     * Chooses a module of a ship to be destroyed.
+     *
+     * @param ship Spaceship which loses a module
+     * @return code of an intact module of the ship, neither ENGINE nor CONTAINER.
+     */
+    int choose(Spaceship ship);
+}
@@ -0,0 +1,94 @@
+package system.rules;
+
+import ai.FleetState;
+import ai.Playables;
+import ai.ShipIndex;
+import ai.occupier.spaceship.Spaceship;
+import system.AlphaZeta;
+import system.board.BitBoard;
+
+/**
+ * Lists the legal actions of the attacking AI into a reusable buffer. Ships
+ * and kinds which are no longer playable in this turn are skipped with the
+ * playable bits, move targets come from the range masks and every remaining
+ * candidate is validated by the rules engine. Ending the turn is always legal
+ * and is the last action of the list. Generating does not allocate and never
+ * throws.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class MoveGenerator {
+    private static final int[] PLAYABLE_OF_KIND = { 0, Playables.ENGINE, Playables.PROPULSION, Playables.RAMM,
+        Playables.RAILGUN, Playables.SWORD, Playables.SENSOR };
+
+    private final long[] mask;
+    private final int[] actions;
+
+    /**
+     * Creates the buffers for a game.
+     *
+     * @param game Game to list the actions of
+     */
+    public MoveGenerator(AlphaZeta game) {
+        BitBoard board = game.getBoard();
+        this.mask = new long[board.getWords()];
+        this.actions = new int[FleetState.SHIPS * (2 * board.getSize() + FleetState.SHIPS * Action.KINDS) + 1];
+    }
+
+    /**
+     * Lists the legal actions of the attacking AI.
+     *
+     * @param rules Rules engine of the game
+     * @return number of actions, at least 1 for ending the turn
+     */
+    public int generate(RulesEngine rules) {
+        AlphaZeta game = rules.getGame();
+        ShipIndex ships = game.getShips();
+        Playables playables = game.getPlayables();
+        int own = ships.getOwner(0) == game.getPlaying() ? 0 : FleetState.SHIPS;
+        int enemy = FleetState.SHIPS - own;
+        int count = 0;
+        for (int i = 0; i < FleetState.SHIPS; i++) {
+            int actor = own + i;
+            Spaceship ship = ships.getShip(actor);
+            int playable = playables.get(ship.getIndex());
+            if (ship.isDestroyed() || playable == 0) {
+                continue;
+            }
+            if ((playable & (Playables.ENGINE | Playables.PROPULSION)) != 0 && game.reachable(ship, this.mask)) {
+                for (int tile = BitBoard.nextTile(this.mask, 0); tile >= 0; tile = BitBoard.nextTile(this.mask,
+                        tile + 1)) {
+                    count = add(rules, playable, Action.of(Action.MOVE, actor, tile), count);
+                    count = add(rules, playable, Action.of(Action.PROPEL, actor, tile), count);
+                }
+            }
+            for (int j = 0; j < FleetState.SHIPS; j++) {
+                for (int kind = Action.RAMM; kind <= Action.MARK; kind++) {
+                    count = add(rules, playable, Action.of(kind, actor, enemy + j), count);
+                }
+            }
+        }
+        this.actions[count] = Action.endTurn();
+        return count + 1;
+    }
+
+    /**
+     * Gets a listed action.
+     *
+     * @param index Index of the action
+     * @return packed action
+     */
+    public int get(int index) {
+        return this.actions[index];
+    }
+
+    private int add(RulesEngine rules, int playable, int action, int count) {
+        if ((playable & PLAYABLE_OF_KIND[Action.kind(action)]) != 0 && rules.check(action) == ActionResult.OK) {
+            this.actions[count] = action;
+            return count + 1;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,138 @@
+package system.rules;
+
+/**
+ * Probability distribution of the outcome of an attack. A hit destroys the
+ * losing ship if it has no more modules than it would lose, otherwise it loses
+ * exactly the damage since an engine is only lost with its ship. Destroying a
+ * collector ends the game. CombatOdds reuses one instance for every query.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class Odds {
+    private static final int MAX_DAMAGE = 2;
+
+    private final double[] defenderLoses = new double[MAX_DAMAGE + 1];
+    private double miss;
+    private double defenderDestroyed;
+    private double attackerLoses;
+    private double attackerDestroyed;
+    private double collectorDestroyed;
+    private double expectedLoss;
+
+    /**
+     * Clears all probabilities.
+     */
+    void reset() {
+        for (int i = 0; i <= MAX_DAMAGE; i++) {
+            this.defenderLoses[i] = 0;
+        }
+        this.miss = 0;
+        this.defenderDestroyed = 0;
+        this.attackerLoses = 0;
+        this.attackerDestroyed = 0;
+        this.collectorDestroyed = 0;
+        this.expectedLoss = 0;
+    }
+
+    void miss(double probability) {
+        this.miss = probability;
+    }
+
+    /**
+     * Adds a rammed attacker losing a module.
+     */
+    void attackerHit(double probability, boolean destroyed, boolean collector) {
+        if (destroyed) {
+            this.attackerDestroyed += probability;
+            if (collector) {
+                this.collectorDestroyed += probability;
+            }
+        } else {
+            this.attackerLoses += probability;
+        }
+    }
+
+    /**
+     * Adds a defender losing some modules.
+     */
+    void defenderHit(double probability, int damage, int modules, boolean collector) {
+        if (modules <= damage) {
+            this.defenderDestroyed += probability;
+            this.expectedLoss += probability * modules;
+            if (collector) {
+                this.collectorDestroyed += probability;
+            }
+        } else {
+            this.defenderLoses[damage] += probability;
+            this.expectedLoss += probability * damage;
+        }
+    }
+
+    /**
+     * Gets the probability of a miss.
+     *
+     * @return probability
+     */
+    public double getMiss() {
+        return this.miss;
+    }
+
+    /**
+     * Gets the probability that the defender loses exactly some modules and is
+     * not destroyed.
+     *
+     * @param modules Number of lost modules, 1 or 2
+     * @return probability
+     */
+    public double getDefenderLoses(int modules) {
+        return modules < 0 || modules > MAX_DAMAGE ? 0 : this.defenderLoses[modules];
+    }
+
+    /**
+     * Gets the probability that the defender is destroyed.
+     *
+     * @return probability
+     */
+    public double getDefenderDestroyed() {
+        return this.defenderDestroyed;
+    }
+
+    /**
+     * Gets the probability that a rammer loses a module and is not destroyed.
+     *
+     * @return probability
+     */
+    public double getAttackerLoses() {
+        return this.attackerLoses;
+    }
+
+    /**
+     * Gets the probability that a rammer is destroyed.
+     *
+     * @return probability
+     */
+    public double getAttackerDestroyed() {
+        return this.attackerDestroyed;
+    }
+
+    /**
+     * Gets the probability that a collector is destroyed, which ends the game.
+     *
+     * @return probability
+     */
+    public double getCollectorDestroyed() {
+        return this.collectorDestroyed;
+    }
+
+    /**
+     * Gets the expected number of modules the defender loses, a destroyed
+     * defender loses all of its modules.
+     *
+     * @return expected modules lost
+     */
+    public double getExpectedLoss() {
+        return this.expectedLoss;
+    }
+}
@@ -0,0 +1,509 @@
+package system.rules;
+
+import ai.AI;
+import ai.FleetState;
+import ai.Playables;
+import ai.PositionCache;
+import ai.ShipIndex;
+import ai.occupier.spaceship.Attackership;
+import ai.occupier.spaceship.ModuleIterator;
+import ai.occupier.spaceship.Spaceship;
+import errorCheck.ErrorCheck;
+import module.ModuleType;
+import system.AlphaZeta;
+
+/**
+ * Headless rules of the game on top of AlphaZeta. Actions are validated and
+ * applied without any console interaction, the outcome is returned as an
+ * ActionResult. Choices of lost modules are delegated to a ModuleChooser and
+ * all events are reported to a RulesListener in the order they happen.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class RulesEngine {
+    private static final int LONGSHOT_CRITICAL_MIN = 4;
+    private static final int LONGSHOT_CRITICAL_MAX = 6;
+    private static final int LONGSHOT_NORMAL_MIN = 2;
+    private static final int LONGSHOT_NORMAL_MAX = 3;
+
+    private static final int STRIKE_NORMAL_MIN = 2;
+    private static final int STRIKE_NORMAL_MAX = 4;
+
+    private static final int RAMM_LOSE_MAX = 1;
+    private static final int RAMM_HIT_MIN = 5;
+
+    private static final String ERROR_INVALID_CHOICE = "module cannot be chosen: ";
+
+    private final AlphaZeta game;
+    private final ShipIndex ships;
+    private final ModuleChooser chooser;
+    private final RulesListener listener;
+    private final ErrorCheck errorCheck = new ErrorCheck();
+    private final ModuleIterator modules = new ModuleIterator();
+    private final ActionResult result = new ActionResult();
+
+    /**
+     * Creates the rules engine of an initialized game.
+     *
+     * @param game     Game to apply the actions to
+     * @param chooser  Chooser of lost modules
+     * @param listener Listener of the events
+     */
+    public RulesEngine(AlphaZeta game, ModuleChooser chooser, RulesListener listener) {
+        this.game = game;
+        this.ships = game.getShips();
+        this.chooser = chooser;
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the game of the engine.
+     *
+     * @return game
+     */
+    public AlphaZeta getGame() {
+        return game;
+    }
+
+    /**
+     * Validates and applies an action. Nothing is changed if the action is not
+     * valid.
+     *
+     * @param action Packed action
+     * @return result of the action, it is reused by the next call
+     */
+    public ActionResult apply(int action) {
+        this.result.reset(action);
+        int error = check(action);
+        if (error != ActionResult.OK) {
+            this.result.setError(error);
+            return this.result;
+        }
+        int kind = Action.kind(action);
+        if (kind == Action.END_TURN) {
+            this.game.changeTurn();
+            this.listener.applied(action);
+            return this.result;
+        }
+        Spaceship actor = this.ships.getShip(Action.actor(action));
+        switch (kind) {
+        case Action.MOVE:
+            this.game.move(actor, Action.target(action));
+            break;
+        case Action.PROPEL:
+            this.game.propel(actor, Action.target(action));
+            break;
+        case Action.MARK:
+            this.game.mark((Attackership) this.ships.getShip(Action.target(action)), actor);
+            break;
+        case Action.RAMM:
+            ramm(actor, this.ships.getShip(Action.target(action)));
+            break;
+        case Action.LONGSHOT:
+            longShot(actor, this.ships.getShip(Action.target(action)));
+            break;
+        default:
+            strike(actor, this.ships.getShip(Action.target(action)));
+            break;
+        }
+        if (this.game.gameOver()) {
+            this.result.setWinner(this.game.getWinner());
+        }
+        this.listener.applied(action);
+        return this.result;
+    }
+
+    /**
+     * Validates an action without applying it. The checks run in the same order
+     * as the error messages of the console commands. An unknown kind or a ship or
+     * tile which does not exist is not executable.
+     *
+     * @param action Packed action
+     * @return ActionResult.OK if the action is valid, the result code of the first
+     *         failed check otherwise.
+     */
+    public int check(int action) {
+        int kind = Action.kind(action);
+        if (kind == Action.END_TURN) {
+            return ActionResult.OK;
+        }
+        if (!isWellFormed(action)) {
+            return ActionResult.NOT_EXECUTABLE;
+        }
+        Spaceship actor = this.ships.getShip(Action.actor(action));
+        if (Action.isMove(kind)) {
+            return checkMove(actor, kind == Action.MOVE ? Playables.ENGINE : Playables.PROPULSION,
+                    Action.target(action));
+        }
+        Spaceship target = this.ships.getShip(Action.target(action));
+        switch (kind) {
+        case Action.MARK:
+            return checkMark(actor, target);
+        case Action.RAMM:
+            return checkRamm(actor, target);
+        case Action.LONGSHOT:
+            return checkShot(actor, target, Playables.RAILGUN);
+        default:
+            return checkShot(actor, target, Playables.SWORD);
+        }
+    }
+
+    /**
+     * Checks if the kind, the actor and the target of an action can be looked up.
+     * A move to PositionCache.OFF_BOARD is well formed and fails its range check,
+     * like on the console.
+     */
+    private boolean isWellFormed(int action) {
+        int kind = Action.kind(action);
+        int target = Action.target(action);
+        if (kind > Action.MARK || Action.actor(action) >= ShipIndex.SHIPS) {
+            return false;
+        }
+        if (Action.isMove(kind)) {
+            return target >= PositionCache.OFF_BOARD && target < this.game.getBoard().getSize();
+        }
+        return target >= 0 && target < ShipIndex.SHIPS;
+    }
+
+    private int checkMove(Spaceship ship, int playable, int target) {
+        AI playing = this.game.getPlaying();
+        if (!this.errorCheck.isAttacking(ship, playing)) {
+            return ActionResult.FALSE_TURN;
+        }
+        if (!this.errorCheck.canBePlayed(ship, playable, this.game.getPlayables())) {
+            return ActionResult.NOT_EXECUTABLE;
+        }
+        if (!this.errorCheck.moveInRange(this.game.getRanges(), target, ship.getTile())) {
+            return ActionResult.NOT_IN_RANGE;
+        }
+        if (ship.isDestroyed()) {
+            return ActionResult.SHIP_DESTROYED;
+        }
+        if (this.errorCheck.isOccupied(this.game.getBoard(), target)) {
+            return ActionResult.TILE_NOT_EMPTY;
+        }
+        return ActionResult.OK;
+    }
+
+    private int checkMark(Spaceship attacker, Spaceship defender) {
+        if (isCollector(defender)) {
+            return ActionResult.MARK_COLLECTOR;
+        }
+        if (!this.errorCheck.isAttacking(attacker, this.game.getPlaying())) {
+            return ActionResult.FALSE_TURN;
+        }
+        if (!this.errorCheck.canBePlayed(attacker, Playables.SENSOR, this.game.getPlayables())) {
+            return ActionResult.NOT_EXECUTABLE;
+        }
+        return ActionResult.OK;
+    }
+
+    private int checkShot(Spaceship attacker, Spaceship defender, int playable) {
+        AI playing = this.game.getPlaying();
+        if (attacker.isDestroyed() || defender.isDestroyed()) {
+            return ActionResult.SHIP_DESTROYED;
+        }
+        if (!this.errorCheck.isAttacking(attacker, playing)) {
+            return ActionResult.FALSE_TURN;
+        }
+        if (this.errorCheck.isAttacking(defender, playing)) {
+            return ActionResult.SAME_FLEET;
+        }
+        if (!this.errorCheck.canBePlayed(attacker, playable, this.game.getPlayables())) {
+            return ActionResult.NOT_EXECUTABLE;
+        }
+        boolean inRange;
+        if (playable == Playables.RAILGUN) {
+            inRange = this.errorCheck.longShotInRange(this.game.getRanges(), defender.getTile(), attacker.getTile());
+        } else {
+            inRange = this.errorCheck.strikeInRange(this.game.getRanges(), defender.getTile(), attacker.getTile());
+        }
+        if (!inRange) {
+            return ActionResult.NOT_IN_RANGE;
+        }
+        return ActionResult.OK;
+    }
+
+    private int checkRamm(Spaceship attacker, Spaceship defender) {
+        AI playing = this.game.getPlaying();
+        if (!this.errorCheck.isAttacking(attacker, playing)) {
+            return ActionResult.FALSE_TURN;
+        }
+        if (attacker.isDestroyed() || defender.isDestroyed()) {
+            return ActionResult.SHIP_DESTROYED;
+        }
+        if (this.errorCheck.isAttacking(defender, playing)) {
+            return ActionResult.SAME_FLEET;
+        }
+        if (!this.errorCheck.canBePlayed(attacker, Playables.RAMM, this.game.getPlayables())) {
+            return ActionResult.NOT_EXECUTABLE;
+        }
+        if (!this.errorCheck.rammInRange(this.game.getRanges(), defender.getTile(), attacker.getTile())) {
+            return ActionResult.NOT_IN_RANGE;
+        }
+        if (isCollector(defender)) {
+            return ActionResult.RAMM_COLLECTOR;
+        }
+        if (!attacker.hasNoWeapon()) {
+            return ActionResult.NOT_EXECUTABLE;
+        }
+        return ActionResult.OK;
+    }
+
+    /**
+     * Ramms a ship. On a low dice the attacker loses a module, on a high dice the
+     * defender.
+     */
+    private void ramm(Spaceship attacker, Spaceship defender) {
+        int dice = roll(attacker, defender);
+        if (dice <= RAMM_LOSE_MAX) {
+            if (attacker.getModuleCount() > 2) {
+                this.listener.selecting(this.game.getPlaying(), attacker, 1, false);
+            }
+            loseOneModule(attacker);
+        } else if (dice >= RAMM_HIT_MIN) {
+            if (defender.getModuleCount() > 2) {
+                this.listener.selecting(this.game.getDefender(), defender, 1, false);
+            }
+            loseOneModule(defender);
+        } else {
+            miss();
+        }
+        this.game.ramm(attacker);
+    }
+
+    /**
+     * Fires a rail gun. A marked target always takes a critical hit and the rail
+     * gun stays playable in this case.
+     */
+    private void longShot(Spaceship attacker, Spaceship defender) {
+        int dice = roll(attacker, defender);
+        int count = defender.getModuleCount();
+        boolean choice = !this.errorCheck.hasOnlyOneModule(defender);
+        if (defender.isMarked()) {
+            if (count > 3 && choice) {
+                this.listener.selecting(this.game.getPlaying(), defender, 2, true);
+            }
+            loseTwoModules(defender);
+            return;
+        }
+        if (dice >= LONGSHOT_NORMAL_MIN && dice <= LONGSHOT_NORMAL_MAX) {
+            if (count > 2 && choice) {
+                this.listener.selecting(this.game.getDefender(), defender, 1, false);
+            }
+            loseOneModule(defender);
+        } else if (dice >= LONGSHOT_CRITICAL_MIN && dice < LONGSHOT_CRITICAL_MAX) {
+            if (count > 3 && choice) {
+                this.listener.selecting(this.game.getDefender(), defender, 2, false);
+            }
+            loseTwoModules(defender);
+        } else if (dice >= LONGSHOT_CRITICAL_MAX) {
+            if (count > 3 && choice) {
+                this.listener.selecting(this.game.getPlaying(), defender, 2, true);
+            }
+            loseTwoModules(defender);
+        } else {
+            miss();
+        }
+        this.game.longShot(attacker);
+    }
+
+    /**
+     * Strikes with a sword. A marked target always takes a critical hit and the
+     * sword stays playable in this case.
+     */
+    private void strike(Spaceship attacker, Spaceship defender) {
+        int dice = roll(attacker, defender);
+        int count = defender.getModuleCount();
+        boolean choice = !this.errorCheck.hasOnlyOneModule(defender);
+        if (defender.isMarked()) {
+            if (count > 2 && choice) {
+                this.listener.selecting(this.game.getPlaying(), defender, 1, true);
+            }
+            loseOneModule(defender);
+            return;
+        } else if (dice >= STRIKE_NORMAL_MIN && dice < STRIKE_NORMAL_MAX) {
+            if (count > 2 && choice) {
+                this.listener.selecting(this.game.getDefender(), defender, 1, false);
+            }
+            loseOneModule(defender);
+        } else if (dice >= STRIKE_NORMAL_MAX) {
+            if (count > 2 && choice) {
+                this.listener.selecting(this.game.getPlaying(), defender, 1, true);
+            }
+            loseOneModule(defender);
+        } else {
+            miss();
+        }
+        this.game.strike(attacker);
+    }
+
+    /**
+     * Rolls a dice and applies the cover and shield bonus of the defender.
+     */
+    private int roll(Spaceship attacker, Spaceship defender) {
+        int roll = this.game.roll();
+        int bonus = bonus(attacker, defender);
+        this.result.setRoll(roll, bonus);
+        this.listener.rolled(roll, bonus);
+        return roll - bonus;
+    }
+
+    /**
+     * Calculates the cover and shield bonus of a defender. It is subtracted from
+     * the roll of an attack.
+     *
+     * @param attacker Attacking spaceship
+     * @param defender Defending spaceship
+     * @return bonus
+     */
+    public int bonus(Spaceship attacker, Spaceship defender) {
+        int bonus = this.game.calculateCover(attacker.getPosition(), defender.getPosition());
+        if (defender.containsShield()) {
+            bonus++;
+        }
+        return bonus;
+    }
+
+    /**
+     * Calculates the damage of a valid attack for a face of the dice without
+     * applying it. Faces with equal damage lead to equal games.
+     *
+     * @param action Packed ramm, longshot or strike
+     * @param face   Face of the dice from 1 to 6
+     * @return number of modules the defender loses, -1 if the attacker loses a
+     *         module and 0 for a miss.
+     */
+    public int damage(int action, int face) {
+        Spaceship attacker = this.ships.getShip(Action.actor(action));
+        Spaceship defender = this.ships.getShip(Action.target(action));
+        return damage(Action.kind(action), face - bonus(attacker, defender), defender.isMarked());
+    }
+
+    /**
+     * Calculates the damage of an attack with the thresholds of ramm, longShot
+     * and strike.
+     *
+     * @param kind   RAMM, LONGSHOT or STRIKE
+     * @param dice   Roll minus the bonus of the defender
+     * @param marked true if the defender is marked
+     * @return number of modules the defender loses, -1 if the attacker loses a
+     *         module and 0 for a miss.
+     */
+    static int damage(int kind, int dice, boolean marked) {
+        switch (kind) {
+        case Action.RAMM:
+            if (dice <= RAMM_LOSE_MAX) {
+                return -1;
+            }
+            return dice >= RAMM_HIT_MIN ? 1 : 0;
+        case Action.LONGSHOT:
+            if (marked || dice >= LONGSHOT_CRITICAL_MIN) {
+                return 2;
+            }
+            return dice >= LONGSHOT_NORMAL_MIN ? 1 : 0;
+        default:
+            return marked || dice >= STRIKE_NORMAL_MIN ? 1 : 0;
+        }
+    }
+
+    private void miss() {
+        this.result.setMissed();
+        this.listener.missed();
+    }
+
+    /**
+     * Makes a ship lose two of its modules. A ship with 2 modules or less is
+     * destroyed.
+     */
+    private void loseTwoModules(Spaceship loser) {
+        int count = loser.getModuleCount();
+        if (count <= 2) {
+            destroyShip(loser);
+            return;
+        }
+        if (count == 3) {
+            loseAllExceptEngine(loser);
+            return;
+        }
+        removeChosenModule(loser);
+        removeChosenModule(loser);
+    }
+
+    /**
+     * Makes a ship lose one of its modules. A ship with 1 module or less is
+     * destroyed.
+     */
+    private void loseOneModule(Spaceship loser) {
+        int count = loser.getModuleCount();
+        if (count <= 1) {
+            destroyShip(loser);
+            return;
+        }
+        if (count == 2) {
+            loseAllExceptEngine(loser);
+            return;
+        }
+        removeChosenModule(loser);
+    }
+
+    private void loseAllExceptEngine(Spaceship loser) {
+        for (ModuleIterator iterator = modulesOf(loser); iterator.hasNext();) {
+            int type = iterator.nextType();
+            if (type != ModuleType.ENGINE) {
+                lose(loser, type);
+            }
+        }
+    }
+
+    /**
+     * Removes one module of a ship. A collector loses a container and a ship with
+     * only one kind of module loses it without a choice.
+     */
+    private void removeChosenModule(Spaceship ship) {
+        if (isCollector(ship)) {
+            lose(ship, ModuleType.CONTAINER);
+            return;
+        }
+        if (this.errorCheck.hasOnlyOneModule(ship)) {
+            ModuleIterator iterator = modulesOf(ship);
+            iterator.nextType();
+            lose(ship, iterator.nextType());
+            return;
+        }
+        int type = this.chooser.choose(ship);
+        if (type == ModuleType.NONE || type == ModuleType.ENGINE || type == ModuleType.CONTAINER
+                || !ship.hasModule(type)) {
+            throw new IllegalStateException(ERROR_INVALID_CHOICE + type);
+        }
+        lose(ship, type);
+    }
+
+    private void lose(Spaceship ship, int type) {
+        this.game.removeModule(ModuleType.get(type), ship);
+        this.result.addLost(this.ships.ordinal(ship), type);
+        this.listener.moduleLost(ship, type);
+    }
+
+    private void destroyShip(Spaceship ship) {
+        int ordinal = this.ships.ordinal(ship);
+        for (ModuleIterator iterator = modulesOf(ship); iterator.hasNext();) {
+            int type = iterator.nextType();
+            this.result.addLost(ordinal, type);
+            this.listener.moduleLost(ship, type);
+        }
+        this.game.destroyShip(ship);
+        this.result.addDestroyed(ordinal);
+        this.listener.shipDestroyed(ship);
+    }
+
+    private ModuleIterator modulesOf(Spaceship ship) {
+        return this.modules.reset(this.ships.getOwner(ship).getFleet().getState(), ship.getIndex());
+    }
+
+    private static boolean isCollector(Spaceship ship) {
+        return ship.getIndex() == FleetState.COLLECTOR;
+    }
+}
@@ -0,0 +1,73 @@
+package system.rules;
+
+import ai.AI;
+import ai.occupier.spaceship.Spaceship;
+
+/**
+ * Receives the events of the rules engine in the order they happen. All methods
+ * do nothing by default, so headless callers only override what they need.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public interface RulesListener {
+    /**
+     * Listener which ignores all events.
+     */
+    RulesListener SILENT = new RulesListener() {
+    };
+
+    /**
+     * Called after a dice was rolled for an attack.
+     *
+     * @param roll  Rolled dice
+     * @param bonus Cover and shield bonus of the defender
+     */
+    default void rolled(int roll, int bonus) {
+    }
+
+    /**
+     * Called when a player has to select lost modules of a ship. The modules of the
+     * ship are still intact.
+     *
+     * @param selecting AI which selects
+     * @param ship      Spaceship which loses modules
+     * @param count     Number of modules to select
+     * @param critical  true if the attack was a critical hit
+     */
+    default void selecting(AI selecting, Spaceship ship, int count, boolean critical) {
+    }
+
+    /**
+     * Called when a ship loses a module.
+     *
+     * @param ship Spaceship which loses the module
+     * @param type Code of the module
+     */
+    default void moduleLost(Spaceship ship, int type) {
+    }
+
+    /**
+     * Called after a ship was destroyed.
+     *
+     * @param ship Destroyed spaceship
+     */
+    default void shipDestroyed(Spaceship ship) {
+    }
+
+    /**
+     * Called when an attack missed.
+     */
+    default void missed() {
+    }
+
+    /**
+     * Called after an action was applied, after all of its other events.
+     * Rejected actions are not reported.
+     *
+     * @param action Packed action
+     */
+    default void applied(int action) {
+    }
+}
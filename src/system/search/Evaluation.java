@@ -0,0 +1,77 @@
+package system.search;
+
+import ai.AI;
+import ai.Fleet;
+import ai.FleetState;
+import ai.occupier.spaceship.Spaceship;
+import system.AlphaZeta;
+
+/**
+ * Static evaluation of a game shared by the searches. Intact ships, modules and
+ * containers count, attackerships close to enemy ships are slightly preferred.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+final class Evaluation {
+    private static final String ERROR_UTILITY_CLASS_INSTANTIATION = "Utility class cannot be instantiated.";
+    private static final int SHIP_VALUE = 20;
+    private static final int MODULE_VALUE = 10;
+    private static final int CONTAINER_VALUE = 30;
+
+    private Evaluation() {
+        throw new IllegalStateException(ERROR_UTILITY_CLASS_INSTANTIATION);
+    }
+
+    /**
+     * Evaluates a game for Alpha.
+     *
+     * @param game Game to evaluate
+     * @return score, positive if Alpha is ahead
+     */
+    static int score(AlphaZeta game) {
+        AI alpha = game.getAlpha();
+        AI zeta = game.getZeta();
+        int length = game.getBoard().getLength();
+        return material(alpha) - material(zeta) + distance(zeta, alpha, length) - distance(alpha, zeta, length);
+    }
+
+    private static int material(AI ai) {
+        Fleet fleet = ai.getFleet();
+        int score = CONTAINER_VALUE * fleet.getState().getContainers();
+        for (int index = 0; index < FleetState.SHIPS; index++) {
+            Spaceship ship = fleet.getShip(index);
+            if (!ship.isDestroyed()) {
+                score += SHIP_VALUE + MODULE_VALUE * ship.getModuleCount();
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Sums the distances of the intact attackerships of an AI to the closest
+     * intact enemy ship.
+     */
+    private static int distance(AI ai, AI enemy, int length) {
+        int sum = 0;
+        for (int index = FleetState.COLLECTOR + 1; index < FleetState.SHIPS; index++) {
+            Spaceship ship = ai.getFleet().getShip(index);
+            if (ship.isDestroyed()) {
+                continue;
+            }
+            int closest = 0;
+            for (int other = 0; other < FleetState.SHIPS; other++) {
+                Spaceship target = enemy.getFleet().getShip(other);
+                if (!target.isDestroyed()) {
+                    int tile = ship.getTile();
+                    int to = target.getTile();
+                    int distance = Math.abs(tile / length - to / length) + Math.abs(tile % length - to % length);
+                    closest = closest == 0 ? distance : Math.min(closest, distance);
+                }
+            }
+            sum += closest;
+        }
+        return sum;
+    }
+}
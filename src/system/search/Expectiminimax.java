@@ -0,0 +1,313 @@
+package system.search;
+
+import java.util.Arrays;
+
+import system.AlphaZeta;
+import system.rules.Action;
+import system.rules.ModuleChooser;
+import system.rules.MoveGenerator;
+import system.rules.RulesEngine;
+import system.rules.RulesListener;
+
+/**
+ * Expectiminimax search over the actions of the rules engine. Every action is
+ * one ply, Alpha maximizes and Zeta minimizes the score. Ramms, longshots and
+ * strikes lead to a chance node over the faces of the dice. Faces with equal
+ * damage are merged and weighted with their number of faces, chance nodes are
+ * pruned with Star1. The search deepens iteratively until its time or node
+ * budget is spent and plays on the game itself, every action is rolled back. A
+ * node budget makes the search reproducible, a time budget does not.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class Expectiminimax {
+    /**
+     * Score of a game won by Alpha, a game won by Zeta scores -WIN.
+     */
+    public static final int WIN = 30000;
+
+    private static final int MAX_PLY = 64;
+    private static final int FACES = 6;
+    private static final int DAMAGES = 4;
+    private static final int LOWEST_DAMAGE = -1;
+    private static final int CHECK_INTERVAL = 0x3FF;
+    private static final int NO_ACTION = -1;
+
+    private final AlphaZeta game;
+    private final RulesEngine rules;
+    private final TranspositionTable table;
+    private final MoveGenerator[] generators = new MoveGenerator[MAX_PLY];
+    private final int[][] faces = new int[MAX_PLY][DAMAGES];
+    private final int[][] weights = new int[MAX_PLY][DAMAGES];
+
+    private int ply;
+    private long nodes;
+    private long deadline;
+    private long maxNodes;
+    private boolean aborted;
+    private int depth;
+
+    /**
+     * Creates a search of a game.
+     *
+     * @param game    Game to search, it is changed and rolled back while searching
+     * @param chooser Chooser of lost modules during the search
+     * @param table   Transposition table, it may be shared with other searches
+     */
+    public Expectiminimax(AlphaZeta game, ModuleChooser chooser, TranspositionTable table) {
+        this.game = game;
+        this.rules = new RulesEngine(game, chooser, RulesListener.SILENT);
+        this.table = table;
+        for (int i = 0; i < MAX_PLY; i++) {
+            this.generators[i] = new MoveGenerator(game);
+        }
+    }
+
+    /**
+     * Gets the game of the search.
+     *
+     * @return game
+     */
+    public AlphaZeta getGame() {
+        return this.game;
+    }
+
+    /**
+     * Gets the depth of the last completed iteration.
+     *
+     * @return depth in plies
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gets the number of nodes of the last search.
+     *
+     * @return nodes
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Searches the best action of the attacking AI within a time budget.
+     *
+     * @param budget Time budget in nanoseconds
+     * @return packed action
+     */
+    public int search(long budget) {
+        return search(0, budget);
+    }
+
+    /**
+     * Searches the best action of the attacking AI within a node and a time
+     * budget. The result of the deepest completed iteration is returned, the
+     * first iteration always completes even if it exceeds the budgets. A game
+     * which did not record changes before the search is released afterwards.
+     *
+     * @param maxNodes Maximum number of nodes, 0 for no limit
+     * @param budget   Time budget in nanoseconds, 0 for no limit
+     * @return packed action
+     */
+    public int search(long maxNodes, long budget) {
+        boolean recording = this.game.isRecording();
+        this.deadline = budget > 0 ? System.nanoTime() + budget : Long.MAX_VALUE;
+        this.maxNodes = maxNodes > 0 ? maxNodes : Long.MAX_VALUE;
+        this.nodes = 0;
+        this.depth = 0;
+        this.ply = 0;
+        this.table.newSearch();
+        this.aborted = false;
+        int best = Action.endTurn();
+        for (int iteration = 1; iteration < MAX_PLY; iteration++) {
+            int action = searchRoot(iteration, best);
+            if (this.aborted) {
+                break;
+            }
+            best = action;
+            this.depth = iteration;
+        }
+        if (!recording) {
+            this.game.release();
+        }
+        return best;
+    }
+
+    private int searchRoot(int depth, int previous) {
+        MoveGenerator actions = this.generators[0];
+        int count = actions.generate(this.rules);
+        boolean maximizing = isAlphaAttacking();
+        int alpha = -WIN - 1;
+        int beta = WIN + 1;
+        int best = actions.get(count - 1);
+        int first = indexOf(actions, count, previous);
+        for (int i = -1; i < count; i++) {
+            if (i == first || (i < 0 && first < 0)) {
+                continue;
+            }
+            int action = actions.get(i < 0 ? first : i);
+            int score = child(action, depth, alpha, beta);
+            if (this.aborted) {
+                return best;
+            }
+            if (maximizing && score > alpha) {
+                alpha = score;
+                best = action;
+            } else if (!maximizing && score < beta) {
+                beta = score;
+                best = action;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Searches a node of the attacking AI with alpha-beta pruning.
+     */
+    private int value(int depth, int alpha, int beta) {
+        this.nodes++;
+        if (this.depth > 0 && (this.nodes > this.maxNodes
+                || (this.nodes & CHECK_INTERVAL) == 0 && System.nanoTime() > this.deadline)) {
+            this.aborted = true;
+        }
+        if (this.aborted) {
+            return 0;
+        }
+        if (this.game.gameOver()) {
+            return this.game.getWinner() == this.game.getAlpha() ? WIN : -WIN;
+        }
+        if (depth == 0 || this.ply == MAX_PLY - 1) {
+            return Evaluation.score(this.game);
+        }
+
+        long key = this.game.hash();
+        long entry = this.table.probe(key);
+        int hint = NO_ACTION;
+        if (entry != TranspositionTable.MISS) {
+            hint = TranspositionTable.action(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveGenerator actions = this.generators[this.ply];
+        int count = actions.generate(this.rules);
+        int first = indexOf(actions, count, hint);
+        boolean maximizing = isAlphaAttacking();
+        int low = alpha;
+        int high = beta;
+        int best = maximizing ? -WIN - 1 : WIN + 1;
+        int bestAction = actions.get(count - 1);
+        for (int i = -1; i < count && low < high; i++) {
+            if (i == first || (i < 0 && first < 0)) {
+                continue;
+            }
+            int action = actions.get(i < 0 ? first : i);
+            int score = child(action, depth, low, high);
+            if (this.aborted) {
+                return 0;
+            }
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestAction = action;
+            }
+            if (maximizing) {
+                low = Math.max(low, best);
+            } else {
+                high = Math.min(high, best);
+            }
+        }
+
+        int bound = TranspositionTable.EXACT;
+        if (best <= alpha) {
+            bound = TranspositionTable.UPPER;
+        } else if (best >= beta) {
+            bound = TranspositionTable.LOWER;
+        }
+        this.table.store(key, depth, bound, best, bestAction);
+        return best;
+    }
+
+    /**
+     * Searches the game after an action, attacks lead to a chance node.
+     */
+    private int child(int action, int depth, int alpha, int beta) {
+        if (Action.isAttack(Action.kind(action))) {
+            return chance(action, depth, alpha, beta);
+        }
+        int checkpoint = this.game.checkpoint();
+        this.rules.apply(action);
+        this.ply++;
+        int score = value(depth - 1, alpha, beta);
+        this.ply--;
+        this.game.rollback(checkpoint);
+        return score;
+    }
+
+    /**
+     * Searches the faces of the dice of an attack. Scores are summed in sixths,
+     * the window of every face is narrowed with the bounds of the faces left as
+     * in Star1.
+     */
+    private int chance(int action, int depth, int alpha, int beta) {
+        int[] face = this.faces[this.ply];
+        int[] weight = this.weights[this.ply];
+        Arrays.fill(weight, 0);
+        for (int roll = 1; roll <= FACES; roll++) {
+            int damage = this.rules.damage(action, roll) - LOWEST_DAMAGE;
+            if (weight[damage]++ == 0) {
+                face[damage] = roll;
+            }
+        }
+
+        int sum = 0;
+        int left = FACES;
+        for (int damage = 0; damage < DAMAGES; damage++) {
+            if (weight[damage] == 0) {
+                continue;
+            }
+            left -= weight[damage];
+            int low = Math.floorDiv(FACES * alpha - sum - left * WIN, weight[damage]);
+            int high = Math.ceilDiv(FACES * beta - sum + left * WIN, weight[damage]);
+            int checkpoint = this.game.checkpoint();
+            this.game.setNextRoll(face[damage]);
+            this.rules.apply(action);
+            this.ply++;
+            int score = value(depth - 1, Math.max(low, -WIN - 1), Math.min(high, WIN + 1));
+            this.ply--;
+            this.game.rollback(checkpoint);
+            if (this.aborted) {
+                return 0;
+            }
+            sum += weight[damage] * score;
+            if (score <= low) {
+                return Math.floorDiv(sum + left * WIN, FACES);
+            }
+            if (score >= high) {
+                return Math.ceilDiv(sum - left * WIN, FACES);
+            }
+        }
+        return Math.floorDiv(sum + FACES / 2, FACES);
+    }
+
+    private boolean isAlphaAttacking() {
+        return this.game.getPlaying() == this.game.getAlpha();
+    }
+
+    private static int indexOf(MoveGenerator actions, int count, int action) {
+        for (int i = 0; i < count; i++) {
+            if (actions.get(i) == action) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,288 @@
+package system.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import system.AlphaZeta;
+import system.rules.Action;
+import system.rules.ActionResult;
+import system.rules.ModuleChooser;
+import system.rules.MoveGenerator;
+import system.rules.RulesEngine;
+import system.rules.RulesListener;
+
+/**
+ * Monte Carlo tree search over the actions of the rules engine. The tree is
+ * open loop: a node stands for a sequence of actions, the faces of the dice are
+ * drawn anew for every playout and children which are not legal after the
+ * drawn faces are skipped. Children are selected with UCT from the view of the
+ * attacking AI, the game is finished with random or heuristic playouts.
+ * <p>
+ * With more than one thread the tree is shared (tree parallelism). Every
+ * thread plays on its own copy of the game and marks the nodes of its playout
+ * with a virtual loss until the reward is backed up. A search stops after a
+ * fixed number of playouts, a wall-clock budget or whichever comes first.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class MonteCarlo implements AutoCloseable {
+    private static final String ERROR_BUDGET = "a playout or time budget is required.";
+    private static final String ERROR_SEARCH_FAILED = "search thread failed.";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final double DRAW = 0.5;
+    private static final double EVALUATION_SCALE = 100.0;
+    private static final int NO_ACTION = -1;
+    private static final int MAX_PATH = 256;
+    private static final int PLAYOUT_ACTIONS = 256;
+    private static final int FACES = 6;
+    private static final int[] PRIORITY = { Action.STRIKE, Action.LONGSHOT, Action.RAMM, Action.MARK };
+
+    private final ModuleChooser chooser;
+    private final int threads;
+    private final boolean heuristic;
+    private final SplittableRandom seeds;
+    private final PlayoutStats stats;
+    private final ExecutorService pool;
+
+    private long playouts;
+    private long elapsed;
+
+    /**
+     * Creates a search. Pass Runtime.availableProcessors() as threads to search
+     * on all cores, a single thread searches on the calling thread.
+     *
+     * @param chooser   Chooser of lost modules, it is used by all threads
+     * @param threads   Number of search threads
+     * @param heuristic true for playouts which attack first, false for uniformly
+     *                  random playouts
+     * @param seed      Seed of the playouts
+     * @param stats     Counter the playouts of every search are added to
+     */
+    public MonteCarlo(ModuleChooser chooser, int threads, boolean heuristic, long seed, PlayoutStats stats) {
+        this.chooser = chooser;
+        this.threads = threads;
+        this.heuristic = heuristic;
+        this.seeds = new SplittableRandom(seed);
+        this.stats = stats;
+        this.pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    }
+
+    /**
+     * Searches the best action of the attacking AI, it is the most visited child
+     * of the root. The game is the same after the search and records no changes
+     * unless it did before.
+     *
+     * @param game        Game to search
+     * @param maxPlayouts Maximum number of playouts, 0 for no limit
+     * @param budget      Wall-clock budget in nanoseconds, 0 for no limit
+     * @return packed action
+     */
+    public int search(AlphaZeta game, long maxPlayouts, long budget) {
+        if (maxPlayouts <= 0 && budget <= 0) {
+            throw new IllegalArgumentException(ERROR_BUDGET);
+        }
+        long start = System.nanoTime();
+        long deadline = budget > 0 ? start + budget : Long.MAX_VALUE;
+        AtomicLong left = new AtomicLong(maxPlayouts > 0 ? maxPlayouts : Long.MAX_VALUE);
+        Node root = new Node(NO_ACTION);
+
+        if (this.pool == null) {
+            boolean recording = game.isRecording();
+            this.playouts = new Worker(game, this.seeds.split(), root, left, deadline).call();
+            if (!recording) {
+                game.release();
+            }
+        } else {
+            List<Worker> workers = new ArrayList<Worker>();
+            for (int i = 0; i < this.threads; i++) {
+                workers.add(new Worker(game.copy(), this.seeds.split(), root, left, deadline));
+            }
+            this.playouts = 0;
+            try {
+                for (Future<Long> done : this.pool.invokeAll(workers)) {
+                    this.playouts += done.get();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException exception) {
+                throw new IllegalStateException(ERROR_SEARCH_FAILED, exception.getCause());
+            }
+        }
+        this.elapsed = System.nanoTime() - start;
+        this.stats.add(this.playouts, this.elapsed);
+        return mostVisited(root);
+    }
+
+    private static int mostVisited(Node root) {
+        Node[] children = root.getChildren();
+        if (children == null) {
+            return Action.endTurn();
+        }
+        Node best = children[children.length - 1];
+        for (Node child : children) {
+            if (child.getVisits() > best.getVisits()) {
+                best = child;
+            }
+        }
+        return best.getAction();
+    }
+
+    /**
+     * Gets the number of playouts of the last search.
+     *
+     * @return playouts
+     */
+    public long getPlayouts() {
+        return this.playouts;
+    }
+
+    /**
+     * Gets the playouts per second of the last search.
+     *
+     * @return playouts per second
+     */
+    public double getPlayoutsPerSecond() {
+        return this.playouts * NANOS_PER_SECOND / Math.max(1, this.elapsed);
+    }
+
+    /**
+     * Stops the search threads.
+     */
+    @Override
+    public void close() {
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * Search thread playing on its own game.
+     */
+    private final class Worker implements Callable<Long> {
+        private final AlphaZeta game;
+        private final RulesEngine rules;
+        private final MoveGenerator actions;
+        private final SplittableRandom random;
+        private final Node root;
+        private final AtomicLong left;
+        private final long deadline;
+        private final Node[] path = new Node[MAX_PATH];
+
+        Worker(AlphaZeta game, SplittableRandom random, Node root, AtomicLong left, long deadline) {
+            this.game = game;
+            this.rules = new RulesEngine(game, MonteCarlo.this.chooser, RulesListener.SILENT);
+            this.actions = new MoveGenerator(game);
+            this.random = random;
+            this.root = root;
+            this.left = left;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Long call() {
+            long done = 0;
+            while (this.left.getAndDecrement() > 0 && System.nanoTime() < this.deadline) {
+                playout();
+                done++;
+            }
+            return done;
+        }
+
+        /**
+         * Selects a path, expands its last node, plays out the game and backs up
+         * the reward.
+         */
+        private void playout() {
+            int checkpoint = this.game.checkpoint();
+            int length = 0;
+            Node node = this.root;
+            while (!this.game.gameOver() && length < MAX_PATH) {
+                Node[] children = node.getChildren();
+                boolean expanded = children == null;
+                if (expanded) {
+                    children = node.expand(this.actions, this.actions.generate(this.rules));
+                }
+                node = select(node, children);
+                node.addVirtualLoss();
+                this.path[length++] = node;
+                apply(node.getAction());
+                if (expanded) {
+                    break;
+                }
+            }
+            double reward = finish();
+            for (int i = 0; i < length; i++) {
+                this.path[i].update(reward, true);
+            }
+            this.root.update(reward, false);
+            this.game.rollback(checkpoint);
+        }
+
+        /**
+         * Selects the legal child with the highest upper confidence bound, ties
+         * are broken by a random starting point. Ending the turn is always legal.
+         */
+        private Node select(Node parent, Node[] children) {
+            boolean alpha = this.game.getPlaying() == this.game.getAlpha();
+            double logParent = Math.log(Math.max(1, parent.getVisits()));
+            int offset = this.random.nextInt(children.length);
+            Node best = null;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < children.length; i++) {
+                Node child = children[(offset + i) % children.length];
+                if (this.rules.check(child.getAction()) != ActionResult.OK) {
+                    continue;
+                }
+                double bound = child.bound(alpha, logParent, EXPLORATION);
+                if (best == null || bound > bestBound) {
+                    best = child;
+                    bestBound = bound;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays the game to its end or to the playout limit and rates it for
+         * Alpha. An unfinished game is rated with the static evaluation.
+         */
+        private double finish() {
+            for (int i = 0; i < PLAYOUT_ACTIONS && !this.game.gameOver(); i++) {
+                int count = this.actions.generate(this.rules);
+                apply(MonteCarlo.this.heuristic ? attackFirst(count) : this.actions.get(this.random.nextInt(count)));
+            }
+            if (this.game.gameOver()) {
+                return this.game.getWinner() == this.game.getAlpha() ? 1 : 0;
+            }
+            return DRAW + DRAW * Math.tanh(Evaluation.score(this.game) / EVALUATION_SCALE);
+        }
+
+        private int attackFirst(int count) {
+            for (int kind : PRIORITY) {
+                for (int i = 0; i < count; i++) {
+                    if (Action.kind(this.actions.get(i)) == kind) {
+                        return this.actions.get(i);
+                    }
+                }
+            }
+            return this.actions.get(this.random.nextInt(count));
+        }
+
+        private void apply(int action) {
+            if (Action.isAttack(Action.kind(action))) {
+                this.game.setNextRoll(1 + this.random.nextInt(FACES));
+            }
+            this.rules.apply(action);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package system.search;
+
+import system.rules.MoveGenerator;
+
+/**
+ * Node of a Monte Carlo tree. A node stands for the action leading to it, the
+ * game is replayed from the root for every playout. The statistics are updated
+ * by many threads, an in-flight playout adds a virtual loss, so other threads
+ * prefer different paths until it is backed up.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+final class Node {
+    private final int action;
+    private volatile Node[] children;
+    private volatile int visits;
+    private volatile int virtualLosses;
+    private volatile double value;
+
+    /**
+     * Creates an unvisited node.
+     *
+     * @param action Packed action leading to the node
+     */
+    Node(int action) {
+        this.action = action;
+    }
+
+    /**
+     * Gets the action leading to the node.
+     *
+     * @return packed action
+     */
+    int getAction() {
+        return this.action;
+    }
+
+    /**
+     * Gets the children of the node.
+     *
+     * @return children, null if the node was not expanded yet
+     */
+    Node[] getChildren() {
+        return this.children;
+    }
+
+    /**
+     * Expands the node with one child per generated action. If another thread
+     * expanded the node first, its children are kept.
+     *
+     * @param actions Generated actions
+     * @param count   Number of generated actions
+     * @return children
+     */
+    synchronized Node[] expand(MoveGenerator actions, int count) {
+        if (this.children == null) {
+            Node[] created = new Node[count];
+            for (int i = 0; i < count; i++) {
+                created[i] = new Node(actions.get(i));
+            }
+            this.children = created;
+        }
+        return this.children;
+    }
+
+    /**
+     * Gets the number of backed up playouts.
+     *
+     * @return visits
+     */
+    int getVisits() {
+        return this.visits;
+    }
+
+    /**
+     * Adds a virtual loss for a playout passing through the node.
+     */
+    synchronized void addVirtualLoss() {
+        this.virtualLosses++;
+    }
+
+    /**
+     * Backs up the reward of a playout and removes its virtual loss.
+     *
+     * @param reward      Reward for Alpha from 0 to 1
+     * @param virtualLoss true if the playout added a virtual loss
+     */
+    synchronized void update(double reward, boolean virtualLoss) {
+        if (virtualLoss) {
+            this.virtualLosses--;
+        }
+        this.visits++;
+        this.value += reward;
+    }
+
+    /**
+     * Calculates the upper confidence bound of the node for the AI choosing it.
+     * Virtual losses count as visits without reward.
+     *
+     * @param alpha       true if Alpha chooses, false if Zeta chooses
+     * @param logParent   Natural logarithm of the visits of the parent
+     * @param exploration Exploration constant
+     * @return bound, infinite if the node was never chosen
+     */
+    double bound(boolean alpha, double logParent, double exploration) {
+        int done = this.visits;
+        int chosen = done + this.virtualLosses;
+        if (chosen == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double reward = alpha ? this.value : done - this.value;
+        return reward / chosen + exploration * Math.sqrt(logParent / chosen);
+    }
+}
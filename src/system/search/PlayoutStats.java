@@ -0,0 +1,47 @@
+package system.search;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Playout counter of Monte Carlo searches. It can be shared by the searches of
+ * many games and threads.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class PlayoutStats {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final LongAdder playouts = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Adds a finished search.
+     *
+     * @param count   Playouts of the search
+     * @param elapsed Wall-clock time of the search in nanoseconds
+     */
+    public void add(long count, long elapsed) {
+        this.playouts.add(count);
+        this.nanos.add(elapsed);
+    }
+
+    /**
+     * Gets the number of playouts of all searches.
+     *
+     * @return playouts
+     */
+    public long getPlayouts() {
+        return this.playouts.sum();
+    }
+
+    /**
+     * Gets the playouts per second of a search on average.
+     *
+     * @return playouts per second
+     */
+    public double getPlayoutsPerSecond() {
+        return this.playouts.sum() * NANOS_PER_SECOND / Math.max(1, this.nanos.sum());
+    }
+}
@@ -0,0 +1,193 @@
+package system.search;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table of search results. Every entry is two longs,
+ * the key XOR the data and the data, so an entry which was torn by concurrent
+ * writes does not match its key any more and is treated as a miss. No locks are
+ * taken, the table can be shared between search threads and its memory never
+ * grows.
+ * <p>
+ * The table is split into buckets of two entries. The first entry keeps the
+ * deepest result of the current search, results of earlier searches are aged
+ * out. The second entry is always replaced.
+ * <p>
+ * The data of an entry packs the best action into bits 0 to 31, the score into
+ * bits 32 to 47, the depth into bits 48 to 55, the bound into bits 56 and 57 and
+ * the generation of the search into bits 58 to 63.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class TranspositionTable {
+    /**
+     * Bound of an exact score.
+     */
+    public static final int EXACT = 1;
+    /**
+     * Bound of a score which is at least the real score.
+     */
+    public static final int LOWER = 2;
+    /**
+     * Bound of a score which is at most the real score.
+     */
+    public static final int UPPER = 3;
+    /**
+     * Data of a missed probe.
+     */
+    public static final long MISS = 0;
+    /**
+     * Highest depth that can be stored.
+     */
+    public static final int MAX_DEPTH = 0xFF;
+
+    private static final String ERROR_SIZE = "size must be at least 1 MB.";
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int BYTES_PER_MEGABYTE = 1 << 20;
+    private static final long ACTION_MASK = 0xFFFFFFFFL;
+    private static final int SCORE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int BOUND_MASK = 0x3;
+    private static final int GENERATION_SHIFT = 58;
+    private static final int GENERATION_MASK = 0x3F;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int buckets;
+    private volatile int generation;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param megabytes Memory of the table, it is rounded down to a power of two
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException(ERROR_SIZE);
+        }
+        int entries = Integer.highestOneBit((int) Math.min(Integer.MAX_VALUE - 8,
+                (long) megabytes * BYTES_PER_MEGABYTE / BYTES_PER_ENTRY));
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.buckets = entries / 2;
+    }
+
+    /**
+     * Starts a new search. Results of earlier searches stay usable, but are
+     * replaced first.
+     */
+    public void newSearch() {
+        this.generation = (this.generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Removes all results.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        Arrays.fill(this.data, 0);
+    }
+
+    /**
+     * Gets the number of entries of the table.
+     *
+     * @return entries
+     */
+    public int getEntries() {
+        return this.keys.length;
+    }
+
+    /**
+     * Looks up the result of a position.
+     *
+     * @param key Zobrist hash of the position
+     * @return packed data, MISS if the position is not stored
+     */
+    public long probe(long key) {
+        int first = bucket(key);
+        for (int entry = first; entry < first + 2; entry++) {
+            long stored = this.data[entry];
+            if (stored != MISS && (this.keys[entry] ^ stored) == key) {
+                return stored;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a position. The score is clamped to the range of a
+     * short and the depth to MAX_DEPTH.
+     *
+     * @param key    Zobrist hash of the position
+     * @param depth  Remaining depth of the search
+     * @param bound  EXACT, LOWER or UPPER
+     * @param score  Score of the position
+     * @param action Best action, packed as in Action
+     */
+    public void store(long key, int depth, int bound, int score, int action) {
+        int current = this.generation;
+        long packed = (action & ACTION_MASK)
+                | ((long) (Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score)) & 0xFFFF) << SCORE_SHIFT)
+                | ((long) Math.min(MAX_DEPTH, Math.max(0, depth)) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT) | ((long) current << GENERATION_SHIFT);
+        int entry = bucket(key);
+        long stored = this.data[entry];
+        if (stored != MISS && (this.keys[entry] ^ stored) != key && generation(stored) == current
+                && depth(stored) > depth) {
+            entry++;
+        }
+        this.keys[entry] = key ^ packed;
+        this.data[entry] = packed;
+    }
+
+    private int bucket(long key) {
+        return (int) ((key >>> 1) & (this.buckets - 1)) << 1;
+    }
+
+    /**
+     * Gets the best action of packed data.
+     *
+     * @param data Packed data returned by probe()
+     * @return packed action
+     */
+    public static int action(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Gets the score of packed data.
+     *
+     * @param data Packed data returned by probe()
+     * @return score
+     */
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Gets the depth of packed data.
+     *
+     * @param data Packed data returned by probe()
+     * @return depth
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * Gets the bound of packed data.
+     *
+     * @param data Packed data returned by probe()
+     * @return EXACT, LOWER or UPPER
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+}
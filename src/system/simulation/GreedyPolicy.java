@@ -0,0 +1,87 @@
+package system.simulation;
+
+import ai.Position;
+import ai.PositionCache;
+import ai.ShipIndex;
+import ai.occupier.spaceship.Spaceship;
+import module.ModuleType;
+import system.AlphaZeta;
+import system.rules.Action;
+import system.rules.MoveGenerator;
+import system.rules.RulesEngine;
+
+/**
+ * Plays the first available attack, strikes before longshots before ramms,
+ * then marks and finally moves towards the closest enemy ship. The turn ends
+ * when no action is left. Lost modules are chosen from the least useful one.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class GreedyPolicy implements Policy {
+    private static final int[] PRIORITY = { Action.STRIKE, Action.LONGSHOT, Action.RAMM, Action.MARK };
+    private static final int[] EXPENDABLE = { ModuleType.SENSOR, ModuleType.PROPULSION, ModuleType.SHIELD,
+        ModuleType.RAILGUN, ModuleType.SWORD };
+
+    private MoveGenerator actions;
+
+    @Override
+    public int decide(RulesEngine rules) {
+        AlphaZeta game = rules.getGame();
+        if (this.actions == null) {
+            this.actions = new MoveGenerator(game);
+        }
+        int count = this.actions.generate(rules);
+        for (int kind : PRIORITY) {
+            for (int i = 0; i < count; i++) {
+                if (Action.kind(this.actions.get(i)) == kind) {
+                    return this.actions.get(i);
+                }
+            }
+        }
+        int best = Action.endTurn();
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int action = this.actions.get(i);
+            if (!Action.isMove(Action.kind(action))) {
+                continue;
+            }
+            int distance = distanceToEnemy(game, Action.target(action));
+            if (distance < bestDistance) {
+                best = action;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        for (int type : EXPENDABLE) {
+            if (ship.hasModule(type)) {
+                return type;
+            }
+        }
+        return ModuleType.NONE;
+    }
+
+    /**
+     * Calculates the distance of a tile to the closest intact enemy ship.
+     */
+    private static int distanceToEnemy(AlphaZeta game, int tile) {
+        ShipIndex ships = game.getShips();
+        PositionCache positions = game.getBoard().getPositions();
+        Position from = positions.get(tile);
+        int closest = Integer.MAX_VALUE;
+        for (int ordinal = 0; ordinal < ShipIndex.SHIPS; ordinal++) {
+            Spaceship ship = ships.getShip(ordinal);
+            if (ships.getOwner(ordinal) == game.getPlaying() || ship.isDestroyed()) {
+                continue;
+            }
+            Position to = ship.getPosition();
+            closest = Math.min(closest, Math.abs(to.getY() - from.getY()) + Math.abs(to.getX() - from.getX()));
+        }
+        return closest;
+    }
+}
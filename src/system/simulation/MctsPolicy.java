@@ -0,0 +1,47 @@
+package system.simulation;
+
+import java.util.random.RandomGenerator;
+
+import ai.occupier.spaceship.Spaceship;
+import system.rules.RulesEngine;
+import system.search.MonteCarlo;
+import system.search.PlayoutStats;
+
+/**
+ * Plays the action found by a single-threaded Monte Carlo tree search with
+ * heuristic playouts. Lost modules are chosen like the greedy policy does.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class MctsPolicy implements Policy {
+    private final GreedyPolicy modules = new GreedyPolicy();
+    private final MonteCarlo search;
+    private final long playouts;
+    private final long budget;
+
+    /**
+     * Creates a Monte Carlo policy.
+     *
+     * @param random   Source of the seed of the playouts
+     * @param playouts Playouts per action, 0 for no limit
+     * @param budget   Wall-clock budget per action in nanoseconds, 0 for no limit
+     * @param stats    Counter of the playouts
+     */
+    public MctsPolicy(RandomGenerator random, long playouts, long budget, PlayoutStats stats) {
+        this.search = new MonteCarlo(this.modules, 1, true, random.nextLong(), stats);
+        this.playouts = playouts;
+        this.budget = budget;
+    }
+
+    @Override
+    public int decide(RulesEngine rules) {
+        return this.search.search(rules.getGame(), this.playouts, this.budget);
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        return this.modules.choose(ship);
+    }
+}
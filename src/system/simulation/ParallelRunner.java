@@ -0,0 +1,134 @@
+package system.simulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import system.interaction.GameSetup;
+import system.record.ArchiveWriter;
+
+/**
+ * Plays a range of game seeds on a fork-join pool. The range is split in halves
+ * until a shard is small enough to be played on one worker. Every game owns a
+ * SplittableRandom seeded by its game seed, the dice and both policies get
+ * their own split of it. The result of a seed does not depend on the sharding
+ * or the number of threads. Games can be appended to a record archive in the
+ * order they finish, every record holds the seed of its game.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class ParallelRunner {
+    private static final int GAMES_PER_SHARD = 64;
+    private static final int RECORD_CAPACITY = 1024;
+
+    private final ForkJoinPool pool;
+    private final GameSetup config;
+    private final PolicyFactory alpha;
+    private final PolicyFactory zeta;
+    private final int maxTurns;
+    private final ArchiveWriter records;
+
+    /**
+     * Creates a runner.
+     *
+     * @param pool     Pool to play the games on
+     * @param config   Setup of every game
+     * @param alpha    Policy of Alpha
+     * @param zeta     Policy of Zeta
+     * @param maxTurns Maximum number of turns of a game
+     */
+    public ParallelRunner(ForkJoinPool pool, GameSetup config, PolicyFactory alpha, PolicyFactory zeta,
+            int maxTurns) {
+        this(pool, config, alpha, zeta, maxTurns, null);
+    }
+
+    /**
+     * Creates a runner which records its games.
+     *
+     * @param pool     Pool to play the games on
+     * @param config   Setup of every game
+     * @param alpha    Policy of Alpha
+     * @param zeta     Policy of Zeta
+     * @param maxTurns Maximum number of turns of a game
+     * @param records  Archive of the records, null to record nothing
+     */
+    public ParallelRunner(ForkJoinPool pool, GameSetup config, PolicyFactory alpha, PolicyFactory zeta,
+            int maxTurns, ArchiveWriter records) {
+        this.pool = pool;
+        this.config = config;
+        this.alpha = alpha;
+        this.zeta = zeta;
+        this.maxTurns = maxTurns;
+        this.records = records;
+    }
+
+    /**
+     * Plays one game per seed.
+     *
+     * @param seedFrom First seed
+     * @param seedTo   Last seed, inclusive
+     * @return results of all games
+     */
+    public Tally run(int seedFrom, int seedTo) {
+        return this.pool.invoke(new Shard(seedFrom, (long) seedTo + 1));
+    }
+
+    /**
+     * Plays the game of a seed and adds its result.
+     *
+     * @param seed  Seed of the game
+     * @param tally Tally to add the result to
+     */
+    public void play(int seed, Tally tally) {
+        SelfPlay play = SelfPlay.create(this.config, this.alpha, this.zeta, this.maxTurns, new SplittableRandom(seed));
+        if (this.records == null) {
+            tally.add(play.play(), play.getTurns());
+            return;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(RECORD_CAPACITY);
+        try {
+            play.record(this.config, seed, out);
+            tally.add(play.play(), play.getTurns());
+            this.records.append(ByteBuffer.wrap(out.toByteArray()));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Seeds from (inclusive) to (exclusive).
+     */
+    private final class Shard extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        Shard(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (this.to - this.from <= GAMES_PER_SHARD) {
+                Tally tally = new Tally();
+                for (long seed = this.from; seed < this.to; seed++) {
+                    play((int) seed, tally);
+                }
+                return tally;
+            }
+            long middle = this.from + (this.to - this.from) / 2;
+            Shard left = new Shard(this.from, middle);
+            left.fork();
+            Tally right = new Shard(middle, this.to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package system.simulation;
+
+import system.rules.ModuleChooser;
+import system.rules.RulesEngine;
+
+/**
+ * Decision policy of a bot. A policy decides the actions of its AI while it is
+ * attacking and chooses the lost modules of its own ships.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public interface Policy extends ModuleChooser {
+    /**
+     * Decides the next action of the attacking AI.
+     *
+     * @param rules Rules engine of the game
+     * @return packed action, Action.endTurn() to end the turn
+     */
+    int decide(RulesEngine rules);
+}
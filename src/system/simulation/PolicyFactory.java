@@ -0,0 +1,20 @@
+package system.simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Creates a new policy for every game.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public interface PolicyFactory {
+    /**
+     * Creates a policy for one game.
+     *
+     * @param random Random generator of the policy, used by this game only
+     * @return policy
+     */
+    Policy create(RandomGenerator random);
+}
@@ -0,0 +1,50 @@
+package system.simulation;
+
+import java.util.random.RandomGenerator;
+
+import ai.occupier.spaceship.Spaceship;
+import module.ModuleType;
+import system.rules.MoveGenerator;
+import system.rules.RulesEngine;
+
+/**
+ * Plays a uniformly random valid action. Ending the turn is one of the choices,
+ * so a turn lasts a few actions on average.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class RandomPolicy implements Policy {
+    private static final int CHOOSABLE = ~(ModuleType.bit(ModuleType.ENGINE) | ModuleType.bit(ModuleType.CONTAINER));
+
+    private final RandomGenerator random;
+    private MoveGenerator actions;
+
+    /**
+     * Creates a random policy.
+     *
+     * @param random Source of randomness, seeded for reproducible games
+     */
+    public RandomPolicy(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public int decide(RulesEngine rules) {
+        if (this.actions == null) {
+            this.actions = new MoveGenerator(rules.getGame());
+        }
+        return this.actions.get(this.random.nextInt(this.actions.generate(rules)));
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        int types = ship.getModuleMask() & CHOOSABLE;
+        int skip = this.random.nextInt(Integer.bitCount(types));
+        for (int i = 0; i < skip; i++) {
+            types &= types - 1;
+        }
+        return Integer.numberOfTrailingZeros(types);
+    }
+}
@@ -0,0 +1,49 @@
+package system.simulation;
+
+import ai.occupier.spaceship.Spaceship;
+import system.rules.RulesEngine;
+import system.search.Expectiminimax;
+import system.search.TranspositionTable;
+
+/**
+ * Plays the action found by an expectiminimax search within a node and a time
+ * budget per action. Lost modules are chosen like the greedy policy does. With
+ * only a node budget and a table of its own the policy is reproducible.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class SearchPolicy implements Policy {
+    private final TranspositionTable table;
+    private final long maxNodes;
+    private final long budget;
+    private final GreedyPolicy modules = new GreedyPolicy();
+    private Expectiminimax search;
+
+    /**
+     * Creates a search policy.
+     *
+     * @param table    Transposition table, it may be shared between games
+     * @param maxNodes Nodes per action, 0 for no limit
+     * @param budget   Time budget per action in nanoseconds, 0 for no limit
+     */
+    public SearchPolicy(TranspositionTable table, long maxNodes, long budget) {
+        this.table = table;
+        this.maxNodes = maxNodes;
+        this.budget = budget;
+    }
+
+    @Override
+    public int decide(RulesEngine rules) {
+        if (this.search == null || this.search.getGame() != rules.getGame()) {
+            this.search = new Expectiminimax(rules.getGame(), this, this.table);
+        }
+        return this.search.search(this.maxNodes, this.budget);
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        return this.modules.choose(ship);
+    }
+}
@@ -0,0 +1,158 @@
+package system.simulation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+
+import ai.AI;
+import ai.occupier.spaceship.Spaceship;
+import system.AlphaZeta;
+import system.interaction.GameSetup;
+import system.record.GameRecorder;
+import system.rules.Action;
+import system.rules.ActionResult;
+import system.rules.ModuleChooser;
+import system.rules.RulesEngine;
+import system.rules.RulesListener;
+
+/**
+ * Plays one game between two bot policies. The lost modules of a ship are
+ * chosen by the policy of its owner. A game which reaches the turn limit ends
+ * in a draw.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public final class SelfPlay implements ModuleChooser {
+    /**
+     * No AI has lost within the turn limit.
+     */
+    public static final int DRAW = -1;
+    /**
+     * Alpha has won.
+     */
+    public static final int ALPHA_WON = 0;
+    /**
+     * Zeta has won.
+     */
+    public static final int ZETA_WON = 1;
+
+    private static final int MAX_ACTIONS_PER_TURN = 64;
+
+    private final AlphaZeta game;
+    private final Policy alpha;
+    private final Policy zeta;
+    private final int maxTurns;
+    private RulesEngine rules;
+    private GameRecorder recorder;
+    private int turns;
+
+    /**
+     * Creates a game between two policies.
+     *
+     * @param game     Initialized game whose first turn has started
+     * @param alpha    Policy of Alpha
+     * @param zeta     Policy of Zeta
+     * @param maxTurns Maximum number of turns
+     */
+    public SelfPlay(AlphaZeta game, Policy alpha, Policy zeta, int maxTurns) {
+        this.game = game;
+        this.alpha = alpha;
+        this.zeta = zeta;
+        this.maxTurns = maxTurns;
+        this.rules = new RulesEngine(game, this, RulesListener.SILENT);
+    }
+
+    /**
+     * Creates a game from a setup. The dice and both policies get their
+     * own split of the random stream of the game.
+     *
+     * @param config   Setup of the game
+     * @param alpha    Policy of Alpha
+     * @param zeta     Policy of Zeta
+     * @param maxTurns Maximum number of turns
+     * @param stream   Random stream of this game
+     * @return game between the policies
+     */
+    public static SelfPlay create(GameSetup config, PolicyFactory alpha, PolicyFactory zeta, int maxTurns,
+            SplittableRandom stream) {
+        return new SelfPlay(config.create(stream.split()), alpha.create(stream.split()), zeta.create(stream.split()),
+                maxTurns);
+    }
+
+    /**
+     * Records the game. It has to be called before the game is played, the
+     * record is flushed when the game ends and the stream stays open.
+     *
+     * @param setup Setup the game was created from
+     * @param seed  Seed of the game
+     * @param out   Stream of the record
+     * @throws IOException if the header cannot be written
+     */
+    public void record(GameSetup setup, int seed, OutputStream out) throws IOException {
+        this.recorder = new GameRecorder(out, setup, seed, this.game, this, RulesListener.SILENT);
+        this.rules = new RulesEngine(this.game, this.recorder, this.recorder);
+    }
+
+    /**
+     * Plays the game until an AI has lost or the turn limit is reached. A turn
+     * ends when the policy ends it, plays an invalid action or exceeds the action
+     * limit of a turn.
+     *
+     * @return ALPHA_WON, ZETA_WON or DRAW
+     */
+    public int play() {
+        int outcome = playTurns();
+        if (this.recorder != null) {
+            try {
+                this.recorder.flush();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        return outcome;
+    }
+
+    private int playTurns() {
+        while (this.turns < this.maxTurns) {
+            Policy policy = policyOf(this.game.getPlaying());
+            for (int i = 0; i < MAX_ACTIONS_PER_TURN; i++) {
+                int action = policy.decide(this.rules);
+                if (Action.kind(action) == Action.END_TURN) {
+                    break;
+                }
+                ActionResult result = this.rules.apply(action);
+                if (result.isGameOver()) {
+                    this.turns++;
+                    return result.getWinner() == this.game.getAlpha() ? ALPHA_WON : ZETA_WON;
+                }
+                if (!result.isApplied()) {
+                    break;
+                }
+            }
+            this.rules.apply(Action.endTurn());
+            this.turns++;
+        }
+        return DRAW;
+    }
+
+    /**
+     * Gets the number of played turns.
+     *
+     * @return turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    @Override
+    public int choose(Spaceship ship) {
+        return policyOf(this.game.getShips().getOwner(ship)).choose(ship);
+    }
+
+    private Policy policyOf(AI ai) {
+        return ai == this.game.getAlpha() ? this.alpha : this.zeta;
+    }
+}
@@ -0,0 +1,201 @@
+package system.simulation;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import system.interaction.GameSetup;
+import system.interaction.InputException;
+import system.record.ArchiveWriter;
+import system.search.PlayoutStats;
+import system.search.TranspositionTable;
+
+/**
+ * Entry point for batch self-play. It plays one game per seed of a seed range
+ * between two bot policies and reports the throughput, the win rates and the
+ * average number of turns. The games run in parallel, dice are rolled by the
+ * seeded AlphaZeta.roll() and every game owns a random stream derived from its
+ * seed, so a seed always reproduces the same game.
+ * <p>
+ * Arguments: seedFrom seedTo length containers layout B C D W X Y
+ * [alphaPolicy] [zetaPolicy] [maxTurns] [threads] [records]. The loadouts are comma
+ * separated module names like in the interactive game, the policies are random,
+ * greedy, search or mcts. A search policy searches a fixed number of nodes per
+ * action with a transposition table per game, an mcts policy runs a fixed
+ * number of playouts per action. The number of threads defaults to
+ * the number of processors. If a record archive is given, every game is
+ * appended to it as a binary game record.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ */
+public final class Simulator {
+    private static final String ERROR_UTILITY_CLASS_INSTANTIATION = "Utility class cannot be instantiated.";
+    private static final String ERROR_MESSAGE_PREFIX = "Error, ";
+    private static final String PARAMETER_NOT_VALID = "given parameters are not valid.";
+    private static final String ARCHIVE_NOT_WRITABLE = "record archive cannot be opened: ";
+    private static final String USAGE = "usage: seedFrom seedTo length containers layout B C D W X Y "
+            + "[alphaPolicy] [zetaPolicy] [maxTurns] [threads] [records]";
+    private static final String POLICY_RANDOM = "random";
+    private static final String POLICY_GREEDY = "greedy";
+    private static final String POLICY_SEARCH = "search";
+    private static final int SEARCH_TABLE_MEGABYTES = 4;
+    private static final long SEARCH_NODES = 5_000;
+    private static final String POLICY_MCTS = "mcts";
+    private static final long MCTS_PLAYOUTS = 200;
+    private static final int REQUIRED_ARGUMENTS = 11;
+    private static final int ARGUMENT_LAYOUT = 4;
+    private static final int ARGUMENT_LOADOUTS = 5;
+    private static final int ARGUMENT_ALPHA_POLICY = 11;
+    private static final int ARGUMENT_ZETA_POLICY = 12;
+    private static final int ARGUMENT_MAX_TURNS = 13;
+    private static final int ARGUMENT_THREADS = 14;
+    private static final int ARGUMENT_RECORDS = 15;
+    private static final int DEFAULT_MAX_TURNS = 200;
+    private static final int MIN_LENGTH = 5;
+    private static final int MAX_CONTAINERS = 3;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double PERCENT = 100.0;
+
+    private Simulator() {
+        throw new IllegalStateException(ERROR_UTILITY_CLASS_INSTANTIATION);
+    }
+
+    /**
+     * Main entry point of the simulator.
+     *
+     * @param args The arguments that are passed to the program at launch as array.
+     */
+    public static void main(String[] args) {
+        if (args.length < REQUIRED_ARGUMENTS) {
+            System.out.println(USAGE);
+            return;
+        }
+        int seedFrom;
+        int seedTo;
+        int length;
+        int containers;
+        int maxTurns;
+        int threads;
+        try {
+            seedFrom = GameSetup.number(args[0]);
+            seedTo = GameSetup.number(args[1]);
+            length = GameSetup.number(args[2]);
+            containers = GameSetup.number(args[3]);
+            maxTurns = GameSetup.number(argument(args, ARGUMENT_MAX_TURNS, String.valueOf(DEFAULT_MAX_TURNS)));
+            threads = GameSetup.number(
+                    argument(args, ARGUMENT_THREADS, String.valueOf(Runtime.getRuntime().availableProcessors())));
+        } catch (InputException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + PARAMETER_NOT_VALID);
+            return;
+        }
+        String layout = args[ARGUMENT_LAYOUT];
+        String[] loadouts = new String[REQUIRED_ARGUMENTS - ARGUMENT_LOADOUTS];
+        System.arraycopy(args, ARGUMENT_LOADOUTS, loadouts, 0, loadouts.length);
+        String alphaPolicy = argument(args, ARGUMENT_ALPHA_POLICY, POLICY_GREEDY);
+        String zetaPolicy = argument(args, ARGUMENT_ZETA_POLICY, POLICY_GREEDY);
+        if (seedTo < seedFrom || length < MIN_LENGTH || length % 2 == 0 || containers < 0
+                || containers > MAX_CONTAINERS || threads < 1 || !isPolicy(alphaPolicy) || !isPolicy(zetaPolicy)) {
+            System.out.println(ERROR_MESSAGE_PREFIX + PARAMETER_NOT_VALID);
+            return;
+        }
+
+        GameSetup config;
+        try {
+            config = GameSetup.of(seedFrom, length, containers, layout, loadouts);
+        } catch (InputException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+            return;
+        }
+
+        ArchiveWriter records = null;
+        if (args.length > ARGUMENT_RECORDS) {
+            try {
+                records = new ArchiveWriter(Paths.get(args[ARGUMENT_RECORDS]));
+            } catch (IOException exception) {
+                System.out.println(ERROR_MESSAGE_PREFIX + ARCHIVE_NOT_WRITABLE + args[ARGUMENT_RECORDS]);
+                return;
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        PlayoutStats stats = new PlayoutStats();
+        Tally tally;
+        try {
+            tally = new ParallelRunner(pool, config, factory(alphaPolicy, stats), factory(zetaPolicy, stats),
+                    maxTurns, records).run(seedFrom, seedTo);
+        } finally {
+            pool.shutdown();
+            close(records);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long games = tally.getGames();
+        System.out.println("Games: " + games);
+        System.out.println(format("Games per second: %.1f", games * NANOS_PER_SECOND / Math.max(1, elapsed)));
+        System.out.println(format("Alpha wins: %.2f%%", tally.getWins(SelfPlay.ALPHA_WON) * PERCENT / games));
+        System.out.println(format("Zeta wins: %.2f%%", tally.getWins(SelfPlay.ZETA_WON) * PERCENT / games));
+        System.out.println(format("Draws: %.2f%%", tally.getDraws() * PERCENT / games));
+        System.out.println(format("Average turns: %.2f", (double) tally.getTurns() / games));
+        if (stats.getPlayouts() > 0) {
+            System.out.println(format("Playouts per second: %.0f", stats.getPlayoutsPerSecond()));
+        }
+    }
+
+    /**
+     * Gets the factory of a policy name.
+     *
+     * @param name random, greedy, search or mcts
+     * @return policy factory
+     */
+    public static PolicyFactory factory(String name) {
+        return factory(name, new PlayoutStats());
+    }
+
+    /**
+     * Gets the factory of a policy name. Monte Carlo policies count their
+     * playouts.
+     *
+     * @param name  random, greedy, search or mcts
+     * @param stats Counter of the playouts
+     * @return policy factory
+     */
+    public static PolicyFactory factory(String name, PlayoutStats stats) {
+        if (name.equals(POLICY_RANDOM)) {
+            return RandomPolicy::new;
+        }
+        if (name.equals(POLICY_SEARCH)) {
+            return random -> new SearchPolicy(new TranspositionTable(SEARCH_TABLE_MEGABYTES), SEARCH_NODES, 0);
+        }
+        if (name.equals(POLICY_MCTS)) {
+            return random -> new MctsPolicy(random, MCTS_PLAYOUTS, 0, stats);
+        }
+        return random -> new GreedyPolicy();
+    }
+
+    private static boolean isPolicy(String name) {
+        return name.equals(POLICY_RANDOM) || name.equals(POLICY_GREEDY) || name.equals(POLICY_SEARCH)
+                || name.equals(POLICY_MCTS);
+    }
+
+    private static void close(ArchiveWriter records) {
+        if (records == null) {
+            return;
+        }
+        try {
+            records.close();
+        } catch (IOException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+        }
+    }
+
+    private static String argument(String[] args, int index, String fallback) {
+        return index < args.length ? args[index] : fallback;
+    }
+
+    private static String format(String format, double value) {
+        return String.format(Locale.ROOT, format, value);
+    }
+}
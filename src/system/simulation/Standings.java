@@ -0,0 +1,119 @@
+package system.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Standings table of a league. A win is worth 3 points and a draw 1 point.
+ * Results can be added from many threads at once.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class Standings {
+    private static final int POINTS_WIN = 3;
+    private static final int POINTS_DRAW = 1;
+    private static final String HEADER = String.format("%-16s %8s %8s %8s %8s %8s", "Bot", "Played", "Won", "Drawn",
+            "Lost", "Points");
+    private static final String ROW = "%-16s %8d %8d %8d %8d %8d";
+
+    private final List<String> names;
+    private final AtomicLongArray wins;
+    private final AtomicLongArray draws;
+    private final AtomicLongArray losses;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param names Names of the bots
+     */
+    public Standings(List<String> names) {
+        this.names = new ArrayList<String>(names);
+        this.wins = new AtomicLongArray(names.size());
+        this.draws = new AtomicLongArray(names.size());
+        this.losses = new AtomicLongArray(names.size());
+    }
+
+    /**
+     * Adds the result of a game.
+     *
+     * @param alpha  Index of the bot playing Alpha
+     * @param zeta   Index of the bot playing Zeta
+     * @param winner SelfPlay.ALPHA_WON, SelfPlay.ZETA_WON or SelfPlay.DRAW
+     */
+    public void add(int alpha, int zeta, int winner) {
+        if (winner == SelfPlay.DRAW) {
+            this.draws.incrementAndGet(alpha);
+            this.draws.incrementAndGet(zeta);
+        } else if (winner == SelfPlay.ALPHA_WON) {
+            this.wins.incrementAndGet(alpha);
+            this.losses.incrementAndGet(zeta);
+        } else {
+            this.wins.incrementAndGet(zeta);
+            this.losses.incrementAndGet(alpha);
+        }
+    }
+
+    /**
+     * Gets the number of wins of a bot.
+     *
+     * @param bot Index of the bot
+     * @return wins
+     */
+    public long getWins(int bot) {
+        return this.wins.get(bot);
+    }
+
+    /**
+     * Gets the number of draws of a bot.
+     *
+     * @param bot Index of the bot
+     * @return draws
+     */
+    public long getDraws(int bot) {
+        return this.draws.get(bot);
+    }
+
+    /**
+     * Gets the number of losses of a bot.
+     *
+     * @param bot Index of the bot
+     * @return losses
+     */
+    public long getLosses(int bot) {
+        return this.losses.get(bot);
+    }
+
+    /**
+     * Gets the points of a bot.
+     *
+     * @param bot Index of the bot
+     * @return points
+     */
+    public long getPoints(int bot) {
+        return POINTS_WIN * getWins(bot) + POINTS_DRAW * getDraws(bot);
+    }
+
+    /**
+     * Converts the table to a string, the bots are sorted by points.
+     *
+     * @return table
+     */
+    @Override
+    public String toString() {
+        List<Integer> order = new ArrayList<Integer>();
+        for (int bot = 0; bot < this.names.size(); bot++) {
+            order.add(bot);
+        }
+        order.sort((first, second) -> Long.compare(getPoints(second), getPoints(first)));
+        StringBuilder table = new StringBuilder(HEADER);
+        for (int bot : order) {
+            long played = getWins(bot) + getDraws(bot) + getLosses(bot);
+            table.append(System.lineSeparator()).append(String.format(ROW, this.names.get(bot), played,
+                    getWins(bot), getDraws(bot), getLosses(bot), getPoints(bot)));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package system.simulation;
+
+/**
+ * Results of a number of games between Alpha and Zeta.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class Tally {
+    private long games;
+    private final long[] wins = new long[2];
+    private long turns;
+
+    /**
+     * Adds the result of a game.
+     *
+     * @param winner SelfPlay.ALPHA_WON, SelfPlay.ZETA_WON or SelfPlay.DRAW
+     * @param played Number of played turns
+     */
+    public void add(int winner, int played) {
+        this.games++;
+        if (winner != SelfPlay.DRAW) {
+            this.wins[winner]++;
+        }
+        this.turns += played;
+    }
+
+    /**
+     * Adds all results of another tally.
+     *
+     * @param other Tally to add
+     * @return this tally
+     */
+    public Tally merge(Tally other) {
+        this.games += other.games;
+        this.wins[SelfPlay.ALPHA_WON] += other.wins[SelfPlay.ALPHA_WON];
+        this.wins[SelfPlay.ZETA_WON] += other.wins[SelfPlay.ZETA_WON];
+        this.turns += other.turns;
+        return this;
+    }
+
+    /**
+     * Gets the number of games.
+     *
+     * @return games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of wins of a side.
+     *
+     * @param side SelfPlay.ALPHA_WON or SelfPlay.ZETA_WON
+     * @return wins
+     */
+    public long getWins(int side) {
+        return wins[side];
+    }
+
+    /**
+     * Gets the number of draws.
+     *
+     * @return draws
+     */
+    public long getDraws() {
+        return games - wins[SelfPlay.ALPHA_WON] - wins[SelfPlay.ZETA_WON];
+    }
+
+    /**
+     * Gets the number of turns of all games.
+     *
+     * @return turns
+     */
+    public long getTurns() {
+        return turns;
+    }
+}
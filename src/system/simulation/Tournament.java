@@ -0,0 +1,157 @@
+package system.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import system.interaction.GameSetup;
+import system.interaction.InputException;
+
+/**
+ * Round-robin league between bots. Every bot plays every other bot as Alpha and
+ * as Zeta. Each game runs on its own virtual thread together with its AlphaZeta
+ * instance, so bots may block, for example on a bot process behind a socket,
+ * without tying up platform threads. All decisions of a bot, including the
+ * choice of lost modules, are made on the thread of its game.
+ * <p>
+ * Arguments: gamesPerPairing seed length containers layout B C D W X Y
+ * [maxTurns]. The league is played between the random and the greedy policy.
+ *
+ * @author Emir Yuksel
+ * @version 1.0
+ *
+ */
+public class Tournament {
+    private static final String ERROR_MESSAGE_PREFIX = "Error, ";
+    private static final String PARAMETER_NOT_VALID = "given parameters are not valid.";
+    private static final String ERROR_GAME_FAILED = "a game of the tournament failed.";
+    private static final String USAGE = "usage: gamesPerPairing seed length containers layout B C D W X Y "
+            + "[maxTurns]";
+    private static final int REQUIRED_ARGUMENTS = 11;
+    private static final int ARGUMENT_LAYOUT = 4;
+    private static final int ARGUMENT_LOADOUTS = 5;
+    private static final int ARGUMENT_MAX_TURNS = 11;
+    private static final int DEFAULT_MAX_TURNS = 200;
+    private static final String[] BUILT_IN = { "random", "greedy" };
+
+    private final GameSetup config;
+    private final int maxTurns;
+    private final List<String> names = new ArrayList<String>();
+    private final List<PolicyFactory> bots = new ArrayList<PolicyFactory>();
+
+    /**
+     * Creates a league without bots.
+     *
+     * @param config   Setup of every game
+     * @param maxTurns Maximum number of turns of a game
+     */
+    public Tournament(GameSetup config, int maxTurns) {
+        this.config = config;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Adds a bot to the league.
+     *
+     * @param name    Name of the bot in the standings
+     * @param factory Creates the policy of the bot for every game
+     */
+    public void addBot(String name, PolicyFactory factory) {
+        this.names.add(name);
+        this.bots.add(factory);
+    }
+
+    /**
+     * Plays the league. The random streams of the games are split from the seed
+     * in a fixed order, so the results only depend on the seed.
+     *
+     * @param gamesPerPairing Number of games of every bot against every other bot
+     *                        on each side
+     * @param seed            Seed of the league
+     * @return standings
+     * @throws InterruptedException if the thread is interrupted while waiting for
+     *                              the games
+     */
+    public Standings play(int gamesPerPairing, long seed) throws InterruptedException {
+        Standings standings = new Standings(this.names);
+        SplittableRandom league = new SplittableRandom(seed);
+        List<Future<?>> games = new ArrayList<Future<?>>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int alpha = 0; alpha < this.bots.size(); alpha++) {
+                for (int zeta = 0; zeta < this.bots.size(); zeta++) {
+                    if (alpha == zeta) {
+                        continue;
+                    }
+                    for (int game = 0; game < gamesPerPairing; game++) {
+                        games.add(executor.submit(task(alpha, zeta, league.split(), standings)));
+                    }
+                }
+            }
+        }
+        for (Future<?> game : games) {
+            try {
+                game.get();
+            } catch (ExecutionException exception) {
+                throw new IllegalStateException(ERROR_GAME_FAILED, exception.getCause());
+            }
+        }
+        return standings;
+    }
+
+    private Runnable task(int alpha, int zeta, SplittableRandom stream, Standings standings) {
+        PolicyFactory alphaBot = this.bots.get(alpha);
+        PolicyFactory zetaBot = this.bots.get(zeta);
+        return () -> {
+            SelfPlay play = SelfPlay.create(this.config, alphaBot, zetaBot, this.maxTurns, stream);
+            standings.add(alpha, zeta, play.play());
+        };
+    }
+
+    /**
+     * Main entry point of the league.
+     *
+     * @param args The arguments that are passed to the program at launch as array.
+     * @throws InterruptedException if the league is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < REQUIRED_ARGUMENTS) {
+            System.out.println(USAGE);
+            return;
+        }
+        int gamesPerPairing;
+        int seed;
+        int length;
+        int containers;
+        int maxTurns;
+        try {
+            gamesPerPairing = GameSetup.number(args[0]);
+            seed = GameSetup.number(args[1]);
+            length = GameSetup.number(args[2]);
+            containers = GameSetup.number(args[3]);
+            maxTurns = args.length > ARGUMENT_MAX_TURNS ? GameSetup.number(args[ARGUMENT_MAX_TURNS])
+                    : DEFAULT_MAX_TURNS;
+        } catch (InputException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + PARAMETER_NOT_VALID);
+            return;
+        }
+        String[] loadouts = new String[REQUIRED_ARGUMENTS - ARGUMENT_LOADOUTS];
+        System.arraycopy(args, ARGUMENT_LOADOUTS, loadouts, 0, loadouts.length);
+        GameSetup config;
+        try {
+            config = GameSetup.of(seed, length, containers, args[ARGUMENT_LAYOUT], loadouts);
+        } catch (InputException exception) {
+            System.out.println(ERROR_MESSAGE_PREFIX + exception.getMessage());
+            return;
+        }
+
+        Tournament tournament = new Tournament(config, maxTurns);
+        for (String name : BUILT_IN) {
+            tournament.addBot(name, Simulator.factory(name));
+        }
+        System.out.println(tournament.play(gamesPerPairing, seed));
+    }
+}